@@ -0,0 +1,88 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.item.ItemSearchIndex;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Boots the application on the H2 {@code test} profile and seeds it with one item owner,
+ * a pool of bookers, the owner's items and bookings spread over past and future.
+ * Rows get consecutive ids starting at 1 (the owner is user 1, bookers follow), and id sequences are
+ * moved past them, so the application keeps inserting without collisions.
+ */
+public final class BenchmarkData {
+
+    public static final long OWNER_ID = 1;
+    public static final int BOOKERS = 100;
+    public static final int ITEMS = 1_000;
+    public static final String SEARCH_TEXT = "drill";
+
+    private static final int BATCH_SIZE = 5_000;
+    private static final String[] STATUSES = {"WAITING", "APPROVED", "APPROVED", "REJECTED"};
+
+    private BenchmarkData() {
+    }
+
+    public static ConfigurableApplicationContext start() {
+        return start(WebApplicationType.NONE);
+    }
+
+    /**
+     * Starts the application, {@code properties} are passed as command line arguments
+     * so they override application.properties.
+     */
+    public static ConfigurableApplicationContext start(WebApplicationType webApplicationType, String... properties) {
+        List<String> args = new ArrayList<>(List.of("--logging.level.ru.practicum=WARN",
+                "--logging.level.org.springframework.transaction.interceptor=WARN",
+                "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN"));
+        for (String property : properties) {
+            args.add("--" + property);
+        }
+        return new SpringApplicationBuilder(ShareItApp.class)
+                .profiles("test")
+                .web(webApplicationType)
+                .run(args.toArray(String[]::new));
+    }
+
+    public static void seed(ConfigurableApplicationContext context, int bookings) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        List<Object[]> users = new ArrayList<>();
+        for (int i = 0; i <= BOOKERS; i++) {
+            users.add(new Object[]{OWNER_ID + i, "user" + i, "user" + i + "@shareit.ru"});
+        }
+        jdbc.batchUpdate("insert into users (id, name, email) values (?, ?, ?)", users);
+
+        List<Object[]> items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            String name = i % 10 == 0 ? "Drill " + i : "Item " + i;
+            items.add(new Object[]{1 + i, name, "Description of item " + i, i % 7 != 0, OWNER_ID});
+        }
+        jdbc.batchUpdate("insert into items (id, name, description, available, user_id) values (?, ?, ?, ?, ?)",
+                items);
+
+        LocalDateTime first = LocalDateTime.now().minusHours(bookings / 2);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < bookings; i++) {
+            LocalDateTime start = first.plusHours(i);
+            batch.add(new Object[]{1 + i, Timestamp.valueOf(start), Timestamp.valueOf(start.plusMinutes(50)),
+                    STATUSES[i % STATUSES.length], OWNER_ID + 1 + i % BOOKERS, 1 + i % ITEMS});
+            if (batch.size() == BATCH_SIZE || i == bookings - 1) {
+                jdbc.batchUpdate("insert into bookings (id, start_data, end_data, status, user_id, item_id) " +
+                        "values (?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        jdbc.execute("alter sequence users_seq restart with " + (OWNER_ID + BOOKERS + 1));
+        jdbc.execute("alter sequence items_seq restart with " + (ITEMS + 1));
+        jdbc.execute("alter sequence bookings_seq restart with " + (bookings + 1));
+        context.getBean(ItemSearchIndex.class).rebuild();
+    }
+}
@@ -0,0 +1,272 @@
+package ru.practicum.shareit.benchmark;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static ru.practicum.shareit.benchmark.BenchmarkData.BOOKERS;
+import static ru.practicum.shareit.benchmark.BenchmarkData.ITEMS;
+import static ru.practicum.shareit.benchmark.BenchmarkData.OWNER_ID;
+import static ru.practicum.shareit.benchmark.BenchmarkData.SEARCH_TEXT;
+import static ru.practicum.shareit.util.HeaderConstant.USER_ID_HEADER;
+
+/**
+ * End-to-end load test: boots the application on the H2 {@code test} profile, seeds it with
+ * {@link BenchmarkData} and drives a weighted mix of requests from virtual-thread clients over HTTP.
+ * Prints throughput, error counts and latency percentiles per endpoint.
+ * <p>
+ * Arguments are {@code key=value} pairs, all optional:
+ * {@code duration} and {@code warmup} in seconds, {@code clients} concurrent clients, {@code bookings} to seed,
+ * {@code virtualThreads} for the server, and {@code mix} as endpoint weights,
+ * e.g. {@code mix=search:40,item:40,owner-bookings:15,create-booking:5}.
+ * <p>
+ * Clients are closed-loop: each sends its next request when the previous one completes, so under overload
+ * latency percentiles understate what an open stream of users would see.
+ */
+public final class LoadTest {
+
+    private static final long MAX_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(1);
+    private static final String[] STATES = {"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"};
+
+    private final Map<Endpoint, Integer> mix;
+    private final int totalWeight;
+    private final Map<Endpoint, Recorder> latencies = new EnumMap<>(Endpoint.class);
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    private HttpClient client;
+    private String baseUrl;
+
+    private LoadTest(Map<Endpoint, Integer> mix) {
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        for (Endpoint endpoint : Endpoint.values()) {
+            latencies.put(endpoint, new Recorder(MAX_LATENCY_NANOS, 3));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = parseOptions(args);
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        int clients = Integer.parseInt(options.getOrDefault("clients", "200"));
+        int bookings = Integer.parseInt(options.getOrDefault("bookings", "100000"));
+        boolean virtualThreads = Boolean.parseBoolean(options.getOrDefault("virtualThreads", "false"));
+        Map<Endpoint, Integer> mix = parseMix(options.getOrDefault("mix",
+                "search:40,item:40,owner-bookings:15,create-booking:5"));
+
+        ConfigurableApplicationContext context = BenchmarkData.start(WebApplicationType.SERVLET,
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads);
+        try {
+            BenchmarkData.seed(context, bookings);
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadTest loadTest = new LoadTest(mix);
+            loadTest.baseUrl = "http://localhost:" + port;
+            loadTest.client = HttpClient.newHttpClient();
+            System.out.printf("Warming up for %ds with %d clients, mix %s%n", warmup.toSeconds(), clients, mix);
+            loadTest.run(clients, warmup);
+            loadTest.reset();
+            System.out.printf("Measuring for %ds%n", duration.toSeconds());
+            long started = System.nanoTime();
+            loadTest.run(clients, duration);
+            loadTest.report(Duration.ofNanos(System.nanoTime() - started));
+        } finally {
+            context.close();
+        }
+    }
+
+    private void run(int clients, Duration duration) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.execute(() -> {
+                    while (System.nanoTime() < deadline) {
+                        call(pickEndpoint());
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+        }
+    }
+
+    private void call(Endpoint endpoint) {
+        HttpRequest request = endpoint.request(baseUrl);
+        long started = System.nanoTime();
+        try {
+            int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+            if (status >= 400) {
+                errors.get(endpoint).increment();
+            }
+        } catch (IOException e) {
+            errors.get(endpoint).increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        latencies.get(endpoint).recordValue(Math.min(System.nanoTime() - started, MAX_LATENCY_NANOS));
+    }
+
+    private Endpoint pickEndpoint() {
+        int point = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            point -= entry.getValue();
+            if (point < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    private void reset() {
+        latencies.values().forEach(Recorder::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+
+    private void report(Duration elapsed) {
+        double seconds = elapsed.toNanos() / 1e9;
+        System.out.printf("%-16s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        Histogram total = new Histogram(MAX_LATENCY_NANOS, 3);
+        long totalErrors = 0;
+        for (Endpoint endpoint : mix.keySet()) {
+            Histogram histogram = latencies.get(endpoint).getIntervalHistogram();
+            long endpointErrors = errors.get(endpoint).sum();
+            total.add(histogram);
+            totalErrors += endpointErrors;
+            printRow(endpoint.key, histogram, endpointErrors, seconds);
+        }
+        printRow("total", total, totalErrors, seconds);
+    }
+
+    private static void printRow(String name, Histogram histogram, long errors, double seconds) {
+        System.out.printf("%-16s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, histogram.getTotalCount(), errors, histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)), millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Expected key=value, got " + arg);
+            }
+            options.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String part : value.split(",")) {
+            String[] weight = part.split(":");
+            int parsed = Integer.parseInt(weight[1].trim());
+            if (parsed > 0) {
+                mix.put(Endpoint.of(weight[0].trim()), parsed);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix must give at least one endpoint a positive weight");
+        }
+        return mix;
+    }
+
+    private static long randomBooker() {
+        return OWNER_ID + 1 + ThreadLocalRandom.current().nextInt(BOOKERS);
+    }
+
+    private static long randomItem() {
+        return 1 + ThreadLocalRandom.current().nextInt(ITEMS);
+    }
+
+    private enum Endpoint {
+        SEARCH("search") {
+            @Override
+            HttpRequest request(String baseUrl) {
+                return get(baseUrl + "/items/search?text=" + SEARCH_TEXT, randomBooker());
+            }
+        },
+        ITEM("item") {
+            @Override
+            HttpRequest request(String baseUrl) {
+                long viewer = ThreadLocalRandom.current().nextInt(10) == 0 ? OWNER_ID : randomBooker();
+                return get(baseUrl + "/items/" + randomItem(), viewer);
+            }
+        },
+        OWNER_BOOKINGS("owner-bookings") {
+            @Override
+            HttpRequest request(String baseUrl) {
+                String state = STATES[ThreadLocalRandom.current().nextInt(STATES.length)];
+                return get(baseUrl + "/bookings/owner?state=" + state + "&size=20", OWNER_ID);
+            }
+        },
+        CREATE_BOOKING("create-booking") {
+            @Override
+            HttpRequest request(String baseUrl) {
+                LocalDateTime start = LocalDateTime.now()
+                        .plusYears(1)
+                        .plusHours(ThreadLocalRandom.current().nextInt(24 * 365 * 5));
+                String body = "{\"itemId\":" + randomItem() + ",\"start\":\"" + start
+                        + "\",\"end\":\"" + start.plusMinutes(30) + "\"}";
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/bookings"))
+                        .header(USER_ID_HEADER, String.valueOf(randomBooker()))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(body))
+                        .build();
+            }
+        };
+
+        private final String key;
+
+        Endpoint(String key) {
+            this.key = key;
+        }
+
+        abstract HttpRequest request(String baseUrl);
+
+        static Endpoint of(String key) {
+            List<String> keys = new ArrayList<>();
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+                keys.add(endpoint.key);
+            }
+            throw new IllegalArgumentException("Unknown endpoint " + key + ", expected one of " + keys);
+        }
+
+        private static HttpRequest get(String url, long userId) {
+            return HttpRequest.newBuilder(URI.create(url))
+                    .header(USER_ID_HEADER, String.valueOf(userId))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmark.BenchmarkData.OWNER_ID;
+import static ru.practicum.shareit.util.HeaderConstant.USER_ID_HEADER;
+
+/**
+ * Compares request handling on Tomcat's platform thread pool with virtual threads behind the JDBC admission gate.
+ * Runs more client threads than Tomcat has workers, so the platform mode queues in the connector.
+ * Throughput mode gives requests per second, sample time mode gives the p99 latency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+public class RequestExecutionBenchmark {
+
+    private static final int BOOKINGS = 100_000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient client;
+    private HttpRequest ownerBookings;
+    private HttpRequest ownerItems;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start(WebApplicationType.SERVLET,
+                "server.port=0",
+                "spring.threads.virtual.enabled=" + virtualThreads);
+        BenchmarkData.seed(context, BOOKINGS);
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        client = HttpClient.newHttpClient();
+        ownerBookings = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/bookings/owner?state=ALL&size=20"))
+                .header(USER_ID_HEADER, String.valueOf(OWNER_ID))
+                .build();
+        ownerItems = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/items"))
+                .header(USER_ID_HEADER, String.valueOf(OWNER_ID))
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int getOwnersBookings() throws IOException, InterruptedException {
+        return client.send(ownerBookings, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public int getOwnersItems() throws IOException, InterruptedException {
+        return client.send(ownerItems, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,114 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.config.JacksonConfig;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.util.PageConstant.MAX_PAGE_SIZE;
+
+/**
+ * CPU per response of full pages in each response format, mappers configured as in {@link JacksonConfig}.
+ * {@code json} is the plain mapper the application used before, the others add Blackbird.
+ * Bytes per response are printed at setup; run with {@code -prof gc} to see allocation per response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+
+    @Param({"json", "json-blackbird", "smile", "cbor"})
+    private String format;
+
+    private ObjectMapper mapper;
+    private JavaType bookingListType;
+    private List<BookingDto> bookings;
+    private List<ItemDto> items;
+    private byte[] encodedBookings;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        mapper = switch (format) {
+            case "json" -> builder.build();
+            case "json-blackbird" -> builder.modulesToInstall(new BlackbirdModule()).build();
+            case "smile" -> builder.modulesToInstall(new BlackbirdModule()).factory(JacksonConfig.smileFactory()).build();
+            case "cbor" -> builder.modulesToInstall(new BlackbirdModule()).factory(new CBORFactory()).build();
+            default -> throw new IllegalArgumentException("Unknown format " + format);
+        };
+        bookingListType = mapper.getTypeFactory().constructCollectionType(List.class, BookingDto.class);
+        bookings = bookerPage();
+        items = searchPage();
+        encodedBookings = mapper.writeValueAsBytes(bookings);
+        System.out.printf("%n%s: bookings page %d bytes, items page %d bytes%n",
+                format, encodedBookings.length, mapper.writeValueAsBytes(items).length);
+    }
+
+    @Benchmark
+    public byte[] writeBookingsPage() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] writeItemsPage() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public List<BookingDto> readBookingsPage() throws IOException {
+        return mapper.readValue(encodedBookings, bookingListType);
+    }
+
+    /**
+     * A {@code GET /bookings} page: one booker on every row, a handful of items booked repeatedly.
+     */
+    private static List<BookingDto> bookerPage() {
+        UserDto booker = new UserDto(2, "user1", "user1@shareit.ru");
+        LocalDateTime first = LocalDateTime.of(2024, 1, 1, 10, 0);
+        List<BookingDto> page = new ArrayList<>(MAX_PAGE_SIZE);
+        for (int i = 0; i < MAX_PAGE_SIZE; i++) {
+            LocalDateTime start = first.minusHours(i);
+            page.add(new BookingDto((long) MAX_PAGE_SIZE - i, start, start.plusMinutes(50),
+                    i % 4 == 3 ? BookingStatus.REJECTED : BookingStatus.APPROVED, booker, item(i % 10)));
+        }
+        return page;
+    }
+
+    /**
+     * A {@code GET /items/search} page of distinct items.
+     */
+    private static List<ItemDto> searchPage() {
+        List<ItemDto> page = new ArrayList<>(MAX_PAGE_SIZE);
+        for (int i = 0; i < MAX_PAGE_SIZE; i++) {
+            page.add(item(i * 10));
+        }
+        return page;
+    }
+
+    private static ItemDto item(int id) {
+        return new ItemDto(1 + id, "Drill " + id, "Description of item " + id, id % 7 != 0, null);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.SearchBookingStates;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemOwnerDto;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static ru.practicum.shareit.benchmark.BenchmarkData.OWNER_ID;
+import static ru.practicum.shareit.benchmark.BenchmarkData.SEARCH_TEXT;
+import static ru.practicum.shareit.util.PageConstant.MAX_PAGE_SIZE;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int bookings;
+
+    private ConfigurableApplicationContext context;
+    private ItemService itemService;
+    private BookingService bookingService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkData.start();
+        BenchmarkData.seed(context, bookings);
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ItemOwnerDto> getOwnersItems() {
+        return itemService.getOwnersItems(OWNER_ID);
+    }
+
+    @Benchmark
+    public List<ItemDto> searchItemsByText() {
+        return itemService.searchItemsByText(SEARCH_TEXT);
+    }
+
+    @Benchmark
+    public List<BookingDto> getOwnersBookingsAll() {
+        return bookingService.getOwnersBookings(OWNER_ID, SearchBookingStates.ALL, null, MAX_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> getOwnersBookingsFuture() {
+        return bookingService.getOwnersBookings(OWNER_ID, SearchBookingStates.FUTURE, null, MAX_PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingDto> getOwnersBookingsWaiting() {
+        return bookingService.getOwnersBookings(OWNER_ID, SearchBookingStates.WAITING, null, MAX_PAGE_SIZE);
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.booking;
+
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface ArchivedBookingRepository extends JpaRepository<ArchivedBooking, Long>,
+        ArchivedBookingRepositoryCustom {
+
+    /**
+     * Copies the given rows of {@code bookings} into the archive as they are, ids and versions included.
+     */
+    @Modifying
+    @Query(value = "insert into bookings_archive (id, start_data, end_data, status, user_id, item_id, version) " +
+            "select id, start_data, end_data, status, user_id, item_id, version " +
+            "from bookings " +
+            "where id in (:ids)", nativeQuery = true)
+    int copyFromBookings(@Param("ids") Collection<Long> ids);
+
+    @Query("select ab " +
+            "from ArchivedBooking ab " +
+            "JOIN FETCH ab.booker " +
+            "JOIN FETCH ab.item " +
+            "JOIN FETCH ab.item.owner " +
+            "where ab.id = ?1")
+    Optional<ArchivedBooking> findByIdWithUserAndItem(long bookingId);
+
+    Optional<ArchivedBooking> findFirstByBooker_IdAndItem_IdOrderByEndDesc(long userId, long itemId);
+
+    /**
+     * Forward-only stream over archived bookings of the owner's items, newest first. Must be consumed
+     * inside a transaction and closed.
+     */
+    @Query("select ab " +
+            "from ArchivedBooking ab " +
+            "JOIN FETCH ab.booker " +
+            "JOIN FETCH ab.item " +
+            "where ab.item.owner.id = ?1 " +
+            "order by ab.start desc, ab.id desc")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<ArchivedBooking> streamAllByOwnerId(long ownerId);
+
+    /**
+     * Same shape as {@link BookingRepository#findBookingDatesByItemIds}. Archived bookings all ended,
+     * so only the last booking can be set.
+     */
+    @Query("select new ru.practicum.shareit.booking.dto.ItemBookingDates(ab.item.id, " +
+            "max(case when ab.end < :now then ab.end end), " +
+            "min(case when ab.start > :now then ab.start end)) " +
+            "from ArchivedBooking ab " +
+            "where ab.item.id in :itemIds " +
+            "group by ab.item.id")
+    List<ItemBookingDates> findBookingDatesByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                     @Param("now") LocalDateTime now);
+}
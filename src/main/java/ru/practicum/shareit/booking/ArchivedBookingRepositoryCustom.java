@@ -0,0 +1,15 @@
+package ru.practicum.shareit.booking;
+
+import com.querydsl.core.types.Predicate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.util.List;
+
+public interface ArchivedBookingRepositoryCustom {
+
+    /**
+     * Reads archived bookings straight into DTOs, newest first, same shape as
+     * {@link BookingRepositoryCustom#findBookingDtos}.
+     */
+    List<BookingDto> findBookingDtos(Predicate predicate, int limit);
+}
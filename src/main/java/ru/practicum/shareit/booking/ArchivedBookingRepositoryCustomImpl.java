@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+import static ru.practicum.shareit.booking.model.QArchivedBooking.archivedBooking;
+
+@RequiredArgsConstructor
+public class ArchivedBookingRepositoryCustomImpl implements ArchivedBookingRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public List<BookingDto> findBookingDtos(Predicate predicate, int limit) {
+        return queryFactory
+                .select(Projections.constructor(BookingDto.class,
+                        archivedBooking.id,
+                        archivedBooking.start,
+                        archivedBooking.end,
+                        archivedBooking.status,
+                        Projections.constructor(UserDto.class,
+                                archivedBooking.booker.id,
+                                archivedBooking.booker.name,
+                                archivedBooking.booker.email),
+                        Projections.constructor(ItemDto.class,
+                                archivedBooking.item.id,
+                                archivedBooking.item.name,
+                                archivedBooking.item.description,
+                                archivedBooking.item.available,
+                                archivedBooking.item.request.id)))
+                .from(archivedBooking)
+                .where(predicate)
+                .orderBy(archivedBooking.start.desc(), archivedBooking.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+}
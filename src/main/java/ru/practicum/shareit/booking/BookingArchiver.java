@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves bookings that ended more than {@code shareit.booking.archive.after} ago from {@code bookings}
+ * to {@code bookings_archive}. Each chunk is copied and deleted in its own transaction, so the hot table
+ * is never locked for long and a failed run resumes where it stopped.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(name = "shareit.booking.archive.enabled", havingValue = "true")
+public class BookingArchiver {
+
+    private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration archiveAfter;
+    private final int chunkSize;
+
+    public BookingArchiver(BookingRepository bookingRepository,
+                           ArchivedBookingRepository archivedBookingRepository,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${shareit.booking.archive.after}") Duration archiveAfter,
+                           @Value("${shareit.booking.archive.chunk-size}") int chunkSize) {
+        this.bookingRepository = bookingRepository;
+        this.archivedBookingRepository = archivedBookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveAfter = archiveAfter;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.archive.interval}",
+            initialDelayString = "${shareit.booking.archive.interval}")
+    public void archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(archiveAfter);
+        long archived = 0;
+        int moved;
+        do {
+            moved = archiveChunk(cutoff);
+            archived += moved;
+        } while (moved == chunkSize);
+        if (archived > 0) {
+            log.info("Archived {} bookings ended before {}", archived, cutoff);
+        }
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        Integer moved = transactionTemplate.execute(status -> {
+            List<Long> ids = bookingRepository.findIdsEndedBefore(cutoff, Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            archivedBookingRepository.copyFromBookings(ids);
+            bookingRepository.deleteAllByIdInBatch(ids);
+            return ids.size();
+        });
+        return moved == null ? 0 : moved;
+    }
+}
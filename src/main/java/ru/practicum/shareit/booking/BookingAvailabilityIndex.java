@@ -0,0 +1,371 @@
+package ru.practicum.shareit.booking;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.exception.ItemIsNotAvailable;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.booking.model.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.model.BookingStatus.WAITING;
+
+/**
+ * Per-item sorted sets of WAITING and APPROVED booking periods.
+ * Item sets are loaded from the database on first use and kept free of overlaps,
+ * so a conflict check is a single {@code lower} lookup. Item sets are only touched under {@link ItemLocks}.
+ * Each set also keeps an hourly busy bitmap of its periods, which answers availability calendar requests.
+ * Periods are kept at the microsecond precision of the {@code TIMESTAMP} columns and removed by booking id.
+ * Sets of items not touched for {@code shareit.booking.availability.expire-after-access} are dropped
+ * and loaded again on next use.
+ */
+@Component
+@Slf4j
+public class BookingAvailabilityIndex {
+
+    private final BookingRepository bookingRepository;
+    private final ItemLocks itemLocks;
+    private final Cache<Long, ItemIntervals> items;
+
+    private static final long SECONDS_PER_HOUR = 3_600;
+    // hours kept in front of the current one before the bitmap is shifted
+    private static final long MAX_PAST_HOURS = 24 * 7;
+    // the calendar answers up to a year ahead of the current hour; later hours are never marked
+    static final long HORIZON_HOURS = 24 * 366;
+    private static final long MAX_TRACKED_HOURS = MAX_PAST_HOURS + HORIZON_HOURS;
+
+    public BookingAvailabilityIndex(BookingRepository bookingRepository,
+                                    ItemLocks itemLocks,
+                                    @Value("${shareit.booking.availability.maximum-size}") long maximumSize,
+                                    @Value("${shareit.booking.availability.expire-after-access}")
+                                    Duration expireAfterAccess) {
+        this.bookingRepository = bookingRepository;
+        this.itemLocks = itemLocks;
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .build();
+    }
+
+    /**
+     * Checks the period of a new booking against active bookings of its item and, if it is free,
+     * writes the booking with {@code save} while the item is locked. The period stays reserved
+     * until the surrounding transaction rolls back.
+     */
+    public Booking reserve(Booking booking, UnaryOperator<Booking> save) {
+        long itemId = booking.getItem().getId();
+        Lock lock = itemLocks.forItem(itemId);
+        lock.lock();
+        try {
+            ItemIntervals intervals = load(itemId);
+            checkFree(intervals, null, booking.getStart(), booking.getEnd());
+            Booking saved = save.apply(booking);
+            intervals.add(toInterval(saved));
+            long bookingId = saved.getId();
+            afterRollback(() -> remove(itemId, bookingId));
+            return saved;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Batch variant of {@link #reserve}: locks all involved items, passes bookings
+     * with free periods to {@code save} in one call and reports the others to {@code onConflict}.
+     * Bookings of the batch are checked against each other as well.
+     */
+    public List<Booking> reserveAll(List<Booking> bookings, UnaryOperator<List<Booking>> save,
+                                    Consumer<Booking> onConflict) {
+        Set<Long> itemIds = bookings.stream()
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        List<Lock> locks = itemLocks.forItems(itemIds);
+        locks.forEach(Lock::lock);
+        try {
+            Map<Long, ItemIntervals> locked = new HashMap<>();
+            itemIds.forEach(itemId -> locked.put(itemId, load(itemId)));
+            List<Booking> free = new ArrayList<>();
+            List<BookingInterval> tentative = new ArrayList<>();
+            for (Booking booking : bookings) {
+                ItemIntervals intervals = locked.get(booking.getItem().getId());
+                try {
+                    checkFree(intervals, null, booking.getStart(), booking.getEnd());
+                } catch (ItemIsNotAvailable e) {
+                    onConflict.accept(booking);
+                    continue;
+                }
+                BookingInterval interval = new BookingInterval(-1 - tentative.size(),
+                        truncate(booking.getStart()), truncate(booking.getEnd()));
+                intervals.add(interval);
+                tentative.add(interval);
+                free.add(booking);
+            }
+            for (int i = 0; i < free.size(); i++) {
+                locked.get(free.get(i).getItem().getId()).remove(tentative.get(i).bookingId());
+            }
+            List<Booking> saved = free.isEmpty() ? free : save.apply(free);
+            for (Booking booking : saved) {
+                long itemId = booking.getItem().getId();
+                long bookingId = booking.getId();
+                locked.get(itemId).add(toInterval(booking));
+                afterRollback(() -> remove(itemId, bookingId));
+            }
+            return saved;
+        } finally {
+            locks.forEach(Lock::unlock);
+        }
+    }
+
+    /**
+     * Brings the index in line with a status change of an existing booking.
+     */
+    public void statusChanged(Booking booking, boolean wasActive) {
+        boolean isActive = isActive(booking);
+        if (wasActive == isActive) {
+            return;
+        }
+        long itemId = booking.getItem().getId();
+        long bookingId = booking.getId();
+        if (isActive) {
+            Lock lock = itemLocks.forItem(itemId);
+            lock.lock();
+            try {
+                ItemIntervals intervals = load(itemId);
+                checkFree(intervals, bookingId, booking.getStart(), booking.getEnd());
+                intervals.add(toInterval(booking));
+            } finally {
+                lock.unlock();
+            }
+            afterRollback(() -> remove(itemId, bookingId));
+        } else {
+            afterCommit(() -> remove(itemId, bookingId));
+        }
+    }
+
+    /**
+     * Splits [from, to) into hour-aligned free and busy periods of the item. Only the current hour and
+     * the {@link #HORIZON_HOURS} after it are tracked, so the range is clamped to that window.
+     * A period is busy if any WAITING or APPROVED booking touches it.
+     */
+    public ItemAvailabilityDto getAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        List<ItemAvailabilityDto.Period> free = new ArrayList<>();
+        List<ItemAvailabilityDto.Period> busy = new ArrayList<>();
+        long fromHour;
+        long toHour;
+        Lock lock = itemLocks.forItem(itemId);
+        lock.lock();
+        try {
+            ItemIntervals intervals = load(itemId);
+            long currentHour = hourOf(LocalDateTime.now());
+            long horizonHour = currentHour + HORIZON_HOURS;
+            fromHour = Math.min(Math.max(hourOf(from), currentHour), horizonHour);
+            toHour = Math.max(Math.min(ceilHourOf(to), horizonHour), fromHour);
+            long hour = fromHour;
+            while (hour < toHour) {
+                boolean isBusy = intervals.isBusy(hour);
+                long next = Math.min(isBusy ? intervals.nextFreeHour(hour) : intervals.nextBusyHour(hour), toHour);
+                (isBusy ? busy : free).add(new ItemAvailabilityDto.Period(toDateTime(hour), toDateTime(next)));
+                hour = next;
+            }
+        } finally {
+            lock.unlock();
+        }
+        return new ItemAvailabilityDto(itemId, toDateTime(fromHour), toDateTime(toHour), free, busy);
+    }
+
+    public static boolean isActive(Booking booking) {
+        return booking.getStatus() == WAITING || booking.getStatus() == APPROVED;
+    }
+
+    /**
+     * Must be called under the item lock.
+     */
+    private ItemIntervals load(long itemId) {
+        ItemIntervals intervals = items.get(itemId, id -> new ItemIntervals());
+        if (!intervals.loaded) {
+            log.info("Loading active booking periods of item {}", itemId);
+            intervals.originHour = hourOf(LocalDateTime.now());
+            bookingRepository.findActiveIntervalsByItemId(itemId, LocalDateTime.now()).forEach(intervals::add);
+            intervals.loaded = true;
+        }
+        intervals.prune(LocalDateTime.now());
+        return intervals;
+    }
+
+    /**
+     * {@code bookingId} is the stored booking being checked again, whose own period doesn't count
+     * as a conflict, or {@code null} for a new booking, which is checked against every period.
+     */
+    private void checkFree(ItemIntervals intervals, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        start = truncate(start);
+        end = truncate(end);
+        BookingInterval previous = intervals.periods.lower(new BookingInterval(Long.MIN_VALUE, end, end));
+        while (previous != null && bookingId != null && previous.bookingId() == bookingId) {
+            previous = intervals.periods.lower(previous);
+        }
+        if (previous != null && previous.overlaps(start, end)) {
+            log.info("Period {} - {} overlaps booking {}", start, end, previous.bookingId());
+            throw new ItemIsNotAvailable("Item is already booked for these dates");
+        }
+    }
+
+    private void remove(long itemId, long bookingId) {
+        ItemIntervals intervals = items.getIfPresent(itemId);
+        if (intervals != null) {
+            Lock lock = itemLocks.forItem(itemId);
+            lock.lock();
+            try {
+                intervals.remove(bookingId);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private BookingInterval toInterval(Booking booking) {
+        return new BookingInterval(booking.getId(), truncate(booking.getStart()), truncate(booking.getEnd()));
+    }
+
+    private static LocalDateTime truncate(LocalDateTime dateTime) {
+        return dateTime.truncatedTo(ChronoUnit.MICROS);
+    }
+
+    private void afterRollback(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        action.run();
+                    }
+                }
+            });
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static long hourOf(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_HOUR);
+    }
+
+    private static long ceilHourOf(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC) + SECONDS_PER_HOUR - 1, SECONDS_PER_HOUR);
+    }
+
+    private static LocalDateTime toDateTime(long hour) {
+        return LocalDateTime.ofEpochSecond(hour * SECONDS_PER_HOUR, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Bit {@code i} of {@code busyHours} is set when a period touches hour {@code originHour + i}.
+     * Periods never overlap, but two of them may share a boundary hour, so removing a period
+     * re-marks its neighbours. The bitmap stops {@code MAX_TRACKED_HOURS} after its origin, which keeps it
+     * near 1 KB however far ahead a booking ends; shifting the origin marks all periods again,
+     * so hours that enter the window are filled in.
+     */
+    private static class ItemIntervals {
+
+        private final TreeSet<BookingInterval> periods = new TreeSet<>(BookingInterval.BY_START);
+        private final Map<Long, BookingInterval> byBookingId = new HashMap<>();
+        private BitSet busyHours = new BitSet();
+        private long originHour;
+        private boolean loaded;
+
+        private void add(BookingInterval interval) {
+            remove(interval.bookingId());
+            periods.add(interval);
+            byBookingId.put(interval.bookingId(), interval);
+            mark(interval);
+        }
+
+        private void remove(long bookingId) {
+            BookingInterval interval = byBookingId.remove(bookingId);
+            if (interval == null) {
+                return;
+            }
+            periods.remove(interval);
+            int from = bitOf(hourOf(interval.start()));
+            int to = bitOf(ceilHourOf(interval.end()));
+            if (from < to) {
+                busyHours.clear(from, to);
+            }
+            BookingInterval lower = periods.lower(interval);
+            BookingInterval higher = periods.higher(interval);
+            if (lower != null) {
+                mark(lower);
+            }
+            if (higher != null) {
+                mark(higher);
+            }
+        }
+
+        private boolean isBusy(long hour) {
+            return busyHours.get(bitOf(hour));
+        }
+
+        private long nextFreeHour(long hour) {
+            return originHour + busyHours.nextClearBit(bitOf(hour));
+        }
+
+        private long nextBusyHour(long hour) {
+            int next = busyHours.nextSetBit(bitOf(hour));
+            return next < 0 ? Long.MAX_VALUE : originHour + next;
+        }
+
+        private void mark(BookingInterval interval) {
+            int from = bitOf(hourOf(interval.start()));
+            int to = bitOf(ceilHourOf(interval.end()));
+            if (from < to) {
+                busyHours.set(from, to);
+            }
+        }
+
+        private int bitOf(long hour) {
+            return (int) Math.min(Math.max(hour - originHour, 0), MAX_TRACKED_HOURS);
+        }
+
+        private void prune(LocalDateTime now) {
+            while (!periods.isEmpty() && !periods.first().end().isAfter(now)) {
+                byBookingId.remove(periods.pollFirst().bookingId());
+            }
+            long shift = hourOf(now) - originHour;
+            if (shift >= MAX_PAST_HOURS) {
+                originHour += shift;
+                busyHours = new BitSet();
+                periods.forEach(this::mark);
+            }
+        }
+    }
+}
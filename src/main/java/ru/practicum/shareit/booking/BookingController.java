@@ -1,8 +1,14 @@
 package ru.practicum.shareit.booking;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -13,12 +19,21 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.BatchBookingResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.util.ETagFormat;
+import ru.practicum.shareit.util.KeysetCursor;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 import static ru.practicum.shareit.util.HeaderConstant.USER_ID_HEADER;
+import static ru.practicum.shareit.util.PageConstant.DEFAULT_PAGE_SIZE;
+import static ru.practicum.shareit.util.PageConstant.MAX_PAGE_SIZE;
+import static ru.practicum.shareit.util.PageConstant.NEXT_CURSOR_HEADER;
 
 @RestController
 @RequestMapping(path = "/bookings")
@@ -26,6 +41,8 @@ import static ru.practicum.shareit.util.HeaderConstant.USER_ID_HEADER;
 @RequiredArgsConstructor
 public class BookingController {
 
+    private static final int MAX_BATCH_SIZE = 500;
+
     private final BookingService bookingService;
 
     @PostMapping
@@ -34,6 +51,13 @@ public class BookingController {
         return bookingService.createBooking(bookingRequest, userId);
     }
 
+    @PostMapping("/batch")
+    public List<BatchBookingResult> createBookings(
+            @RequestBody @NotEmpty @Size(max = MAX_BATCH_SIZE) List<@Valid NewBookingRequest> bookingRequests,
+            @RequestHeader(USER_ID_HEADER) long userId) {
+        return bookingService.createBookings(bookingRequests, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDto approvedBooking(@PathVariable @Positive long bookingId,
                                       @RequestParam("approved") boolean isApproved,
@@ -43,21 +67,46 @@ public class BookingController {
 
     @GetMapping("{bookingId}")
     public BookingDto getBooking(@PathVariable @Positive long bookingId,
-                                 @RequestHeader(USER_ID_HEADER) long userId) {
+                                 @RequestHeader(USER_ID_HEADER) long userId,
+                                 WebRequest request) {
+        Optional<String> eTag = bookingService.getBookingETag(userId, bookingId);
+        if (eTag.isPresent() && request.checkNotModified(ETagFormat.forRequest(eTag.get(), request))) {
+            return null;
+        }
         return bookingService.getBooking(userId, bookingId);
     }
 
     @GetMapping
-    public List<BookingDto> getBookingCurrentUser(@RequestParam(value = ("state"),
-            defaultValue = "ALL") SearchBookingStates state,
-                                                  @RequestHeader(USER_ID_HEADER) long userId) {
-        return bookingService.getBookingsOfUser(userId, state);
+    public ResponseEntity<List<BookingDto>> getBookingCurrentUser(
+            @RequestParam(value = ("state"), defaultValue = "ALL") SearchBookingStates state,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+            @RequestHeader(USER_ID_HEADER) long userId) {
+        return toPage(bookingService.getBookingsOfUser(userId, state, KeysetCursor.decode(cursor), size), size);
     }
 
     @GetMapping("/owner")
-    public List<BookingDto> getOwnersBookings(@RequestParam(value = ("state"),
-            defaultValue = "ALL") SearchBookingStates state,
-                                              @RequestHeader(USER_ID_HEADER) long userId) {
-        return bookingService.getOwnersBookings(userId, state);
+    public ResponseEntity<List<BookingDto>> getOwnersBookings(
+            @RequestParam(value = ("state"), defaultValue = "ALL") SearchBookingStates state,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+            @RequestHeader(USER_ID_HEADER) long userId) {
+        return toPage(bookingService.getOwnersBookings(userId, state, KeysetCursor.decode(cursor), size), size);
+    }
+
+    @GetMapping(value = "/owner/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void exportOwnersBookings(@RequestHeader(USER_ID_HEADER) long userId,
+                                     HttpServletResponse response) throws IOException {
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        bookingService.exportOwnersBookings(userId, response.getOutputStream());
+    }
+
+    private ResponseEntity<List<BookingDto>> toPage(List<BookingDto> bookings, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (bookings.size() == size) {
+            BookingDto last = bookings.getLast();
+            response.header(NEXT_CURSOR_HEADER, new KeysetCursor(last.getStart(), last.getId()).encode());
+        }
+        return response.body(bookings);
     }
 }
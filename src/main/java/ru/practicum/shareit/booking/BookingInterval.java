@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+
+/**
+ * Half-open booked period [start, end) of an item.
+ */
+public record BookingInterval(long bookingId, LocalDateTime start, LocalDateTime end) {
+
+    static final Comparator<BookingInterval> BY_START = Comparator.comparing(BookingInterval::start)
+            .thenComparingLong(BookingInterval::bookingId);
+
+    boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && otherStart.isBefore(end);
+    }
+}
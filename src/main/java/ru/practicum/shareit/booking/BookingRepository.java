@@ -1,16 +1,26 @@
 package ru.practicum.shareit.booking;
 
-import com.querydsl.core.types.Predicate;
-import org.springframework.data.domain.Sort;
-import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
+import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
 import ru.practicum.shareit.booking.model.Booking;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface BookingRepository extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking> {
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
+
+public interface BookingRepository extends JpaRepository<Booking, Long>, QuerydslPredicateExecutor<Booking>,
+        BookingRepositoryCustom {
 
     @Query("select bk " +
             "from Booking bk " +
@@ -20,8 +30,48 @@ public interface BookingRepository extends JpaRepository<Booking, Long>, Queryds
             "where bk.id = ?1")
     Optional<Booking> findByIdWithUserAndItem(long bookingId);
 
-    @EntityGraph(attributePaths = {"booker", "item", "item.owner"})
-    Iterable<Booking> findAll(Predicate predicate, Sort sort);
-
     Optional<Booking> findByBooker_IdAndItem_Id(long userId, long itemId);
+
+    @Query("select new ru.practicum.shareit.booking.BookingVersionStamp(bk.id, bk.version, " +
+            "bk.booker.version, bk.item.version) " +
+            "from Booking bk " +
+            "where bk.id = ?1 and (bk.booker.id = ?2 or bk.item.owner.id = ?2)")
+    Optional<BookingVersionStamp> findVersionStamp(long bookingId, long userId);
+
+    /**
+     * Forward-only stream over all bookings of the owner's items, newest first. Must be consumed
+     * inside a transaction and closed.
+     */
+    @Query("select bk " +
+            "from Booking bk " +
+            "JOIN FETCH bk.booker " +
+            "JOIN FETCH bk.item " +
+            "where bk.item.owner.id = ?1 " +
+            "order by bk.start desc, bk.id desc")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<Booking> streamAllByOwnerId(long ownerId);
+
+    @Query("select bk.id from Booking bk where bk.end < ?1 order by bk.end")
+    List<Long> findIdsEndedBefore(LocalDateTime cutoff, Limit limit);
+
+    @Query("select bk.item.id from Booking bk where bk.id = ?1")
+    Optional<Long> findItemIdById(long bookingId);
+
+    @Query("select new ru.practicum.shareit.booking.dto.ItemBookingDates(bk.item.id, " +
+            "max(case when bk.end < :now then bk.end end), " +
+            "min(case when bk.start > :now then bk.start end)) " +
+            "from Booking bk " +
+            "where bk.item.id in :itemIds " +
+            "group by bk.item.id")
+    List<ItemBookingDates> findBookingDatesByItemIds(@Param("itemIds") Collection<Long> itemIds,
+                                                     @Param("now") LocalDateTime now);
+
+    @Query("select new ru.practicum.shareit.booking.BookingInterval(bk.id, bk.start, bk.end) " +
+            "from Booking bk " +
+            "where bk.item.id = :itemId " +
+            "and bk.status in (ru.practicum.shareit.booking.model.BookingStatus.WAITING, " +
+            "ru.practicum.shareit.booking.model.BookingStatus.APPROVED) " +
+            "and bk.end > :now")
+    List<BookingInterval> findActiveIntervalsByItemId(@Param("itemId") long itemId,
+                                                      @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking;
+
+import com.querydsl.core.types.Predicate;
+import ru.practicum.shareit.booking.dto.BookingDto;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+
+    /**
+     * Reads bookings straight into DTOs, newest first. Rows never become managed entities.
+     */
+    List<BookingDto> findBookingDtos(Predicate predicate, int limit);
+}
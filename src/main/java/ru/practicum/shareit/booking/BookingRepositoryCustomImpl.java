@@ -0,0 +1,44 @@
+package ru.practicum.shareit.booking;
+
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.Projections;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import lombok.RequiredArgsConstructor;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+
+import static ru.practicum.shareit.booking.model.QBooking.booking;
+
+@RequiredArgsConstructor
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private final JPAQueryFactory queryFactory;
+
+    @Override
+    public List<BookingDto> findBookingDtos(Predicate predicate, int limit) {
+        return queryFactory
+                .select(Projections.constructor(BookingDto.class,
+                        booking.id,
+                        booking.start,
+                        booking.end,
+                        booking.status,
+                        Projections.constructor(UserDto.class,
+                                booking.booker.id,
+                                booking.booker.name,
+                                booking.booker.email),
+                        Projections.constructor(ItemDto.class,
+                                booking.item.id,
+                                booking.item.name,
+                                booking.item.description,
+                                booking.item.available,
+                                booking.item.request.id)))
+                .from(booking)
+                .where(predicate)
+                .orderBy(booking.start.desc(), booking.id.desc())
+                .limit(limit)
+                .fetch();
+    }
+}
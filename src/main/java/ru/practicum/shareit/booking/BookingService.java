@@ -1,23 +1,51 @@
 package ru.practicum.shareit.booking;
 
+import ru.practicum.shareit.booking.dto.BatchBookingResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.util.KeysetCursor;
 
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 public interface BookingService {
 
     BookingDto createBooking(NewBookingRequest bookingRequest, long userId);
 
+    List<BatchBookingResult> createBookings(List<NewBookingRequest> bookingRequests, long userId);
+
     BookingDto approveBooking(long userId, long bookingId, boolean isApproved);
 
     BookingDto getBooking(long userId, long bookingId);
 
-    List<BookingDto> getBookingsOfUser(long userId, SearchBookingStates state);
+    Optional<String> getBookingETag(long userId, long bookingId);
+
+    /**
+     * Newest first, at most {@code size} rows after the cursor; the size is capped at {@code MAX_PAGE_SIZE}.
+     */
+    List<BookingDto> getBookingsOfUser(long userId, SearchBookingStates state, KeysetCursor after, int size);
+
+    /**
+     * Same paging as {@link #getBookingsOfUser}.
+     */
+    List<BookingDto> getOwnersBookings(long userId, SearchBookingStates state, KeysetCursor after, int size);
 
-    List<BookingDto> getOwnersBookings(long userId, SearchBookingStates state);
+    /**
+     * Bookings still in the hot table come first, newest first, followed by archived bookings, newest first.
+     * The stream as a whole is therefore not sorted by start: an archived booking may follow a newer hot one.
+     */
+    void exportOwnersBookings(long userId, OutputStream out);
 
     Optional<Booking> isUserHadBookingOfItem(long userId, long itemId);
+
+    Map<Long, ItemBookingDates> getBookingDatesOfItems(Collection<Long> itemIds);
+
+    ItemAvailabilityDto getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 }
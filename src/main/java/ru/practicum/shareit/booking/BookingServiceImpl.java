@@ -1,88 +1,182 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.MeterTag;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Sort;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BatchBookingResult;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.QArchivedBooking;
 import ru.practicum.shareit.booking.model.QBooking;
+import ru.practicum.shareit.event.OutboxPublisher;
 import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.exception.IncorrectPeriodException;
 import ru.practicum.shareit.exception.ItemIsNotAvailable;
 import ru.practicum.shareit.exception.NotEnoughRightsToChangeData;
+import ru.practicum.shareit.item.ItemCache;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.KnownUsers;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.KeysetCursor;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.stream.Stream;
 
 import static ru.practicum.shareit.booking.model.BookingStatus.APPROVED;
 import static ru.practicum.shareit.booking.model.BookingStatus.REJECTED;
 import static ru.practicum.shareit.booking.model.BookingStatus.WAITING;
+import static ru.practicum.shareit.event.EventType.BOOKING_APPROVED;
+import static ru.practicum.shareit.event.EventType.BOOKING_CREATED;
+import static ru.practicum.shareit.event.EventType.BOOKING_REJECTED;
+import static ru.practicum.shareit.util.PageConstant.MAX_PAGE_SIZE;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
+@Timed(value = "shareit.booking.service", histogram = true)
 public class BookingServiceImpl implements BookingService {
 
+    private static final Duration MAX_AVAILABILITY_PERIOD = Duration.ofDays(366);
+    private static final Comparator<BookingDto> NEWEST_FIRST = Comparator.comparing(BookingDto::getStart)
+            .thenComparing(BookingDto::getId)
+            .reversed();
+
     private final UserRepository userRepository;
+    private final KnownUsers knownUsers;
     private final ItemRepository itemRepository;
     private final BookingRepository bookingRepository;
+    private final ArchivedBookingRepository archivedBookingRepository;
     private final BookingMapper bookingMapper;
+    private final BookingAvailabilityIndex availabilityIndex;
+    private final ItemCache itemCache;
+    private final ItemLocks itemLocks;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxPublisher outboxPublisher;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${shareit.booking.optimistic-lock-attempts}")
+    private int optimisticLockAttempts;
+
+    @Value("${shareit.booking.export.clear-every}")
+    private int exportClearEvery;
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingDto createBooking(NewBookingRequest bookingRequest, long userId) {
         log.info("User {}, creating new booking {}", userId, bookingRequest);
-        Booking booking = bookingMapper.mapToBooking(bookingRequest);
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-        Item item = itemRepository.findByIdWithUser(bookingRequest.getItemId())
-                .orElseThrow(() -> new EntityNotFoundException("Item not found"));
-        if (!item.getAvailable()) {
-            log.info("Item is not available to booking");
-            throw new ItemIsNotAvailable("Item is not available");
-        }
-        log.info("Set booker to booking {}", user);
-        booking.setBooker(user);
-        log.info("Set item to booking {}", item);
-        booking.setItem(item);
-        log.info("Set status: WAITING to booking");
-        booking.setStatus(WAITING);
-        booking = bookingRepository.save(booking);
-        log.info("Booking saved success {}", booking);
-        return bookingMapper.toBookingDto(booking);
+        return inItemTransaction(List.of(bookingRequest.getItemId()), () -> saveNewBooking(bookingRequest, userId));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchBookingResult> createBookings(List<NewBookingRequest> bookingRequests, long userId) {
+        log.info("User {}, creating {} bookings", userId, bookingRequests.size());
+        Set<Long> itemIds = bookingRequests.stream()
+                .map(NewBookingRequest::getItemId)
+                .collect(Collectors.toSet());
+        return inItemTransaction(itemIds, () -> saveNewBookings(bookingRequests, userId));
     }
 
     @Override
-    @Transactional
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public BookingDto approveBooking(long userId, long bookingId, boolean isApproved) {
         log.info("User: {} wants to approve Booking: {}", userId, bookingId);
-        Booking booking = bookingRepository.findByIdWithUserAndItem(bookingId)
-                .orElseThrow(() -> new EntityNotFoundException("Booking not found"));
-        if (booking.getItem().getOwner().getId() != userId) {
-            log.info("Booking: {} has another item owner.", booking);
-            throw new NotEnoughRightsToChangeData("Wrong booking owner");
+        // own short transaction, so no connection is held while waiting for the item lock
+        Long itemId = transactionTemplate.execute(status -> bookingRepository.findItemIdById(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Booking not found")));
+        return inItemTransaction(List.of(itemId), () -> changeStatus(userId, bookingId, isApproved));
+    }
+
+    private List<BatchBookingResult> saveNewBookings(List<NewBookingRequest> bookingRequests, long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        Map<Long, Item> items = itemRepository.findAllByIdWithUser(bookingRequests.stream()
+                        .map(NewBookingRequest::getItemId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        BatchBookingResult[] results = new BatchBookingResult[bookingRequests.size()];
+        Map<Booking, Integer> indexes = new IdentityHashMap<>();
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < bookingRequests.size(); i++) {
+            NewBookingRequest bookingRequest = bookingRequests.get(i);
+            Item item = items.get(bookingRequest.getItemId());
+            if (item == null) {
+                results[i] = new BatchBookingResult(i, null, "Item not found");
+            } else if (!item.getAvailable()) {
+                results[i] = new BatchBookingResult(i, null, "Item is not available");
+            } else {
+                Booking booking = bookingMapper.mapToBooking(bookingRequest);
+                booking.setBooker(user);
+                booking.setItem(item);
+                booking.setStatus(WAITING);
+                indexes.put(booking, i);
+                bookings.add(booking);
+            }
         }
-        log.info("Set status to booking {}", isApproved);
-        booking.setStatus(isApproved ? APPROVED : REJECTED);
-        return bookingMapper.toBookingDto(booking);
+        List<Booking> saved = availabilityIndex.reserveAll(bookings, bookingRepository::saveAll,
+                booking -> {
+                    int index = indexes.get(booking);
+                    results[index] = new BatchBookingResult(index, null, "Item is already booked for these dates");
+                });
+        for (Booking booking : saved) {
+            int index = indexes.get(booking);
+            BookingDto bookingDto = bookingMapper.toBookingDto(booking);
+            results[index] = new BatchBookingResult(index, bookingDto, null);
+            itemCache.evict(booking.getItem().getId());
+            outboxPublisher.publish(BOOKING_CREATED, bookingDto.getId(), bookingDto);
+        }
+        log.info("Saved {} of {} bookings", saved.size(), bookingRequests.size());
+        return Arrays.asList(results);
     }
 
     @Override
     public BookingDto getBooking(long userId, long bookingId) {
         log.info("Owner of item or booking id: {} getting booking id: {}", userId, bookingId);
         Booking booking = bookingRepository.findByIdWithUserAndItem(bookingId)
+                .or(() -> archivedBookingRepository.findByIdWithUserAndItem(bookingId).map(bookingMapper::toBooking))
                 .orElseThrow(() -> new EntityNotFoundException("Booking not found"));
         if (booking.getBooker().getId() != userId && booking.getItem().getOwner().getId() != userId) {
             log.info("User with id: {} dont have rights to see booking", userId);
@@ -92,36 +186,136 @@ public class BookingServiceImpl implements BookingService {
         return bookingMapper.toBookingDto(booking);
     }
 
+    /**
+     * Empty if the booking doesn't exist or the user may not see it, {@link #getBooking} reports which.
+     */
     @Override
-    public List<BookingDto> getBookingsOfUser(long userId, SearchBookingStates state) {
+    public Optional<String> getBookingETag(long userId, long bookingId) {
+        return bookingRepository.findVersionStamp(bookingId, userId)
+                .map(BookingVersionStamp::toETag);
+    }
+
+    @Override
+    public List<BookingDto> getBookingsOfUser(long userId, @MeterTag("state") SearchBookingStates state,
+                                              KeysetCursor after, int size) {
         log.info("User id: {}, trying to get own bookings. State: {}", userId, state);
-        userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        if (!knownUsers.exists(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
         BooleanExpression byUserId = QBooking.booking.booker.id.eq(userId);
-        BooleanExpression byState = getStateExpression(state);
-        Iterable<Booking> foundItems = bookingRepository.findAll(
-                byUserId.and(byState),
-                Sort.by(Sort.Direction.DESC, "start"));
+        BooleanExpression archivedByUserId = QArchivedBooking.archivedBooking.booker.id.eq(userId);
         log.info("Getting User: {} bookings, sort by date", userId);
-        return StreamSupport.stream(foundItems.spliterator(), false)
-                .map(bookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        return findPage(byUserId, archivedByUserId, state, after, size);
     }
 
     @Override
-    public List<BookingDto> getOwnersBookings(long userId, SearchBookingStates state) {
+    public List<BookingDto> getOwnersBookings(long userId, @MeterTag("state") SearchBookingStates state,
+                                              KeysetCursor after, int size) {
         log.info("User id: {}, trying to get his own item's bookings. State: {}", userId, state);
-        userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        if (!knownUsers.exists(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
         BooleanExpression byUserId = QBooking.booking.item.owner.id.eq(userId);
-        BooleanExpression byState = getStateExpression(state);
-        Iterable<Booking> foundItems = bookingRepository.findAll(
-                byUserId.and(byState),
-                Sort.by(Sort.Direction.DESC, "start"));
+        BooleanExpression archivedByUserId = QArchivedBooking.archivedBooking.item.owner.id.eq(userId);
         log.info("Getting User: {} own item's bookings, sort by date", userId);
-        return StreamSupport.stream(foundItems.spliterator(), false)
-                .map(bookingMapper::toBookingDto)
-                .collect(Collectors.toList());
+        return findPage(byUserId, archivedByUserId, state, after, size);
+    }
+
+    private BookingDto saveNewBooking(NewBookingRequest bookingRequest, long userId) {
+        Booking booking = bookingMapper.mapToBooking(bookingRequest);
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        Item item = itemRepository.findByIdWithUser(bookingRequest.getItemId())
+                .orElseThrow(() -> new EntityNotFoundException("Item not found"));
+        if (!item.getAvailable()) {
+            log.info("Item is not available to booking");
+            throw new ItemIsNotAvailable("Item is not available");
+        }
+        log.info("Set booker to booking {}", user);
+        booking.setBooker(user);
+        log.info("Set item to booking {}", item);
+        booking.setItem(item);
+        log.info("Set status: WAITING to booking");
+        booking.setStatus(WAITING);
+        booking = availabilityIndex.reserve(booking, bookingRepository::save);
+        itemCache.evict(item.getId());
+        log.info("Booking saved success {}", booking);
+        BookingDto bookingDto = bookingMapper.toBookingDto(booking);
+        outboxPublisher.publish(BOOKING_CREATED, bookingDto.getId(), bookingDto);
+        return bookingDto;
+    }
+
+    private BookingDto changeStatus(long userId, long bookingId, boolean isApproved) {
+        Booking booking = bookingRepository.findByIdWithUserAndItem(bookingId)
+                .orElseThrow(() -> new EntityNotFoundException("Booking not found"));
+        if (booking.getItem().getOwner().getId() != userId) {
+            log.info("Booking: {} has another item owner.", booking);
+            throw new NotEnoughRightsToChangeData("Wrong booking owner");
+        }
+        log.info("Set status to booking {}", isApproved);
+        boolean wasActive = BookingAvailabilityIndex.isActive(booking);
+        booking.setStatus(isApproved ? APPROVED : REJECTED);
+        availabilityIndex.statusChanged(booking, wasActive);
+        itemCache.evict(booking.getItem().getId());
+        BookingDto bookingDto = bookingMapper.toBookingDto(booking);
+        outboxPublisher.publish(isApproved ? BOOKING_APPROVED : BOOKING_REJECTED, bookingId, bookingDto);
+        return bookingDto;
+    }
+
+    /**
+     * Runs {@code action} in a new transaction while holding the lock stripes of the items, so create/approve
+     * calls for the same items don't race inside this instance. The transaction commits before the stripes
+     * are released. Versioned rows still catch changes made elsewhere; such transactions are retried
+     * a bounded number of times.
+     */
+    private <T> T inItemTransaction(Collection<Long> itemIds, Supplier<T> action) {
+        List<Lock> locks = itemLocks.forItems(itemIds);
+        for (int attempt = 1; ; attempt++) {
+            locks.forEach(Lock::lock);
+            try {
+                return transactionTemplate.execute(status -> action.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= optimisticLockAttempts) {
+                    throw e;
+                }
+                log.info("Concurrent change of items {} bookings, retrying. Attempt {}", itemIds, attempt);
+            } finally {
+                locks.forEach(Lock::unlock);
+            }
+        }
+    }
+
+    /**
+     * Reads a page from the hot table and, for {@code PAST} and {@code ALL}, from the archive too,
+     * then merges both newest first. Archived bookings all ended, so no other state can match them.
+     * When the hot page is already full the archive is only asked for rows that sort before its last row.
+     */
+    private List<BookingDto> findPage(BooleanExpression byUserId, BooleanExpression archivedByUserId,
+                                      SearchBookingStates state, KeysetCursor after, int size) {
+        int limit = Math.min(size, MAX_PAGE_SIZE);
+        QBooking booking = QBooking.booking;
+        BooleanExpression predicate = byUserId.and(getStateExpression(state))
+                .and(KeysetCursor.after(booking.start, booking.id, after));
+        List<BookingDto> bookings = bookingRepository.findBookingDtos(predicate, limit);
+        if (state != SearchBookingStates.PAST && state != SearchBookingStates.ALL) {
+            return bookings;
+        }
+        QArchivedBooking archivedBooking = QArchivedBooking.archivedBooking;
+        BooleanExpression archivedPredicate = archivedByUserId
+                .and(KeysetCursor.after(archivedBooking.start, archivedBooking.id, after));
+        if (bookings.size() == limit) {
+            BookingDto last = bookings.getLast();
+            archivedPredicate = archivedPredicate.and(archivedBooking.start.gt(last.getStart())
+                    .or(archivedBooking.start.eq(last.getStart()).and(archivedBooking.id.gt(last.getId()))));
+        }
+        List<BookingDto> archived = archivedBookingRepository.findBookingDtos(archivedPredicate, limit);
+        if (archived.isEmpty()) {
+            return bookings;
+        }
+        return Stream.concat(bookings.stream(), archived.stream())
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .toList();
     }
 
     private BooleanExpression getStateExpression(SearchBookingStates state) {
@@ -135,7 +329,88 @@ public class BookingServiceImpl implements BookingService {
         };
     }
 
+    /**
+     * Writes every booking of the owner's items to {@code out} as NDJSON in two runs, hot then archived,
+     * each newest first; see {@link BookingService#exportOwnersBookings}.
+     * Rows come from forward-only streams, and every {@code shareit.booking.export.clear-every} rows
+     * the output is flushed and the persistence context cleared, so memory use doesn't grow with history.
+     */
+    @Override
+    public void exportOwnersBookings(long userId, OutputStream out) {
+        log.info("Exporting bookings of owner {}", userId);
+        if (!knownUsers.exists(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+        ObjectWriter writer = objectMapper.writerFor(BookingDto.class);
+        long exported;
+        try (OutputStream buffered = new BufferedOutputStream(out)) {
+            try (Stream<Booking> bookings = bookingRepository.streamAllByOwnerId(userId)) {
+                exported = writeNdjson(bookings, bookingMapper::toBookingDto, writer, buffered, 0);
+            }
+            try (Stream<ArchivedBooking> bookings = archivedBookingRepository.streamAllByOwnerId(userId)) {
+                exported = writeNdjson(bookings, bookingMapper::toBookingDto, writer, buffered, exported);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Exported {} bookings of owner {}", exported, userId);
+    }
+
+    private <T> long writeNdjson(Stream<T> rows, Function<T, BookingDto> toDto, ObjectWriter writer,
+                                 OutputStream out, long exported) throws IOException {
+        for (T row : (Iterable<T>) rows::iterator) {
+            out.write(writer.writeValueAsBytes(toDto.apply(row)));
+            out.write('\n');
+            if (++exported % exportClearEvery == 0) {
+                out.flush();
+                entityManager.clear();
+            }
+        }
+        return exported;
+    }
+
     public Optional<Booking> isUserHadBookingOfItem(long userId, long itemId) {
-        return bookingRepository.findByBooker_IdAndItem_Id(userId, itemId);
+        return bookingRepository.findByBooker_IdAndItem_Id(userId, itemId)
+                .or(() -> archivedBookingRepository.findFirstByBooker_IdAndItem_IdOrderByEndDesc(userId, itemId)
+                        .map(bookingMapper::toBooking));
+    }
+
+    @Override
+    public Map<Long, ItemBookingDates> getBookingDatesOfItems(Collection<Long> itemIds) {
+        if (itemIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        log.info("Getting last and next booking dates of items {}", itemIds);
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, ItemBookingDates> dates = bookingRepository.findBookingDatesByItemIds(itemIds, now)
+                .stream()
+                .collect(Collectors.toMap(ItemBookingDates::itemId, Function.identity()));
+        List<Long> withoutLastBooking = itemIds.stream()
+                .filter(itemId -> dates.get(itemId) == null || dates.get(itemId).lastBooking() == null)
+                .toList();
+        if (withoutLastBooking.isEmpty()) {
+            return dates;
+        }
+        for (ItemBookingDates archived : archivedBookingRepository.findBookingDatesByItemIds(withoutLastBooking, now)) {
+            ItemBookingDates hot = dates.get(archived.itemId());
+            dates.put(archived.itemId(), new ItemBookingDates(archived.itemId(), archived.lastBooking(),
+                    hot == null ? null : hot.nextBooking()));
+        }
+        return dates;
+    }
+
+    @Override
+    public ItemAvailabilityDto getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        log.info("Getting availability of item {} from {} to {}", itemId, from, to);
+        if (!from.isBefore(to)) {
+            throw new IncorrectPeriodException("From must be before to");
+        }
+        if (Duration.between(from, to).compareTo(MAX_AVAILABILITY_PERIOD) > 0) {
+            throw new IncorrectPeriodException("Period must not be longer than " + MAX_AVAILABILITY_PERIOD.toDays() + " days");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new EntityNotFoundException("Item not found");
+        }
+        return availabilityIndex.getAvailability(itemId, from, to);
     }
 }
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking;
+
+/**
+ * Versions of the booking and of the booker and item embedded in its DTO.
+ */
+public record BookingVersionStamp(long bookingId, long version, long bookerVersion, long itemVersion) {
+
+    String toETag() {
+        return "booking-" + bookingId + "-" + version + "-" + bookerVersion + "-" + itemVersion;
+    }
+}
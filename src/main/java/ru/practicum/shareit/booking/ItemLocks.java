@@ -0,0 +1,47 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.IntStream;
+
+/**
+ * Fixed set of lock stripes keyed by item id. Booking changes of one item are serialized in-process
+ * while bookings of unrelated items mostly take different stripes.
+ * Locks are {@link ReentrantLock}s, so virtual threads waiting on them don't pin their carriers.
+ */
+@Component
+public class ItemLocks {
+
+    private final Lock[] stripes;
+
+    public ItemLocks(@Value("${shareit.booking.lock-stripes}") int stripes) {
+        this.stripes = IntStream.range(0, stripes)
+                .mapToObj(i -> new ReentrantLock())
+                .toArray(Lock[]::new);
+    }
+
+    public Lock forItem(long itemId) {
+        return stripes[stripe(itemId)];
+    }
+
+    /**
+     * Returns stripes of all items in stripe order; taking them in this order can't deadlock.
+     */
+    public List<Lock> forItems(Collection<Long> itemIds) {
+        return itemIds.stream()
+                .mapToInt(this::stripe)
+                .distinct()
+                .sorted()
+                .mapToObj(stripe -> stripes[stripe])
+                .toList();
+    }
+
+    private int stripe(long itemId) {
+        return Math.floorMod(Long.hashCode(itemId) * 0x9E3779B9, stripes.length);
+    }
+}
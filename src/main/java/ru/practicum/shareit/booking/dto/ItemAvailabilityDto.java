@@ -0,0 +1,23 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ItemAvailabilityDto {
+
+    private long itemId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private List<Period> free;
+    private List<Period> busy;
+
+    public record Period(LocalDateTime start, LocalDateTime end) {
+    }
+}
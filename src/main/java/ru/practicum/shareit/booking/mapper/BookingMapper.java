@@ -1,17 +1,30 @@
 package ru.practicum.shareit.booking.mapper;
 
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import org.mapstruct.NullValueMappingStrategy;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.model.ArchivedBooking;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
 
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING,
         nullValueMapMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT)
 public interface BookingMapper {
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Booking mapToBooking(NewBookingRequest bookingRequest);
 
     BookingDto toBookingDto(Booking booking);
+
+    BookingDto toBookingDto(ArchivedBooking booking);
+
+    Booking toBooking(ArchivedBooking booking);
+
+    @Mapping(target = "requestId", source = "request.id")
+    ItemDto toItemDto(Item item);
 }
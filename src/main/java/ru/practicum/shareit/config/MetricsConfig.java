@@ -0,0 +1,28 @@
+package ru.practicum.shareit.config;
+
+import io.micrometer.common.annotation.ValueExpressionResolver;
+import io.micrometer.common.annotation.ValueResolver;
+import io.micrometer.core.aop.MeterTagAnnotationHandler;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables {@code @Timed} on services. Parameters marked with {@code @MeterTag} become timer tags
+ * with their {@code toString()} value.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        TimedAspect timedAspect = new TimedAspect(meterRegistry);
+        ValueResolver toStringResolver = String::valueOf;
+        ValueExpressionResolver expressionResolver = (expression, parameter) -> String.valueOf(parameter);
+        timedAspect.setMeterTagAnnotationHandler(new MeterTagAnnotationHandler(
+                resolverClass -> toStringResolver,
+                expressionResolverClass -> expressionResolver));
+        return timedAspect;
+    }
+}
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * With {@code spring.threads.virtual.enabled=true} Tomcat handles every request on its own virtual thread,
+ * so the connection pool becomes the only limit on concurrency. The data source is then wrapped
+ * in an admission gate sized to the pool.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Slf4j
+public class VirtualThreadsConfig {
+
+    @Bean
+    public static BeanPostProcessor admissionControlDataSourcePostProcessor(Environment environment) {
+        int permits = environment.getRequiredProperty("shareit.jdbc.admission.permits", Integer.class);
+        Duration timeout = environment.getRequiredProperty("shareit.jdbc.admission.timeout", Duration.class);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlDataSource)) {
+                    log.info("Wrapping data source {} into admission gate with {} permits", beanName, permits);
+                    return new AdmissionControlDataSource(dataSource, permits, timeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
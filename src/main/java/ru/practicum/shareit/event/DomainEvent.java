@@ -0,0 +1,9 @@
+package ru.practicum.shareit.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Dispatched form of an outbox row. {@code payload} is the JSON of the DTO returned to the client.
+ */
+public record DomainEvent(long id, EventType type, long aggregateId, String payload, LocalDateTime created) {
+}
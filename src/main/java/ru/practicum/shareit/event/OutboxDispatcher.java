@@ -0,0 +1,61 @@
+package ru.practicum.shareit.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.event.sink.EventSink;
+
+import java.util.List;
+
+/**
+ * Drains the outbox in id order: every batch goes to all sinks and is deleted only after all of them
+ * accepted it, which gives at-least-once delivery. Assumes a single dispatching instance.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<EventSink> sinks;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository,
+                            List<EventSink> sinks,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${shareit.outbox.batch-size}") int batchSize) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.sinks = sinks;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.dispatch-delay}")
+    public void dispatch() {
+        int dispatched;
+        do {
+            dispatched = dispatchBatch();
+        } while (dispatched == batchSize);
+    }
+
+    private int dispatchBatch() {
+        Integer dispatched = transactionTemplate.execute(status -> {
+            List<OutboxEvent> batch = outboxEventRepository.findAllByOrderByIdAsc(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            List<DomainEvent> events = batch.stream()
+                    .map(event -> new DomainEvent(event.getId(), event.getType(), event.getAggregateId(),
+                            event.getPayload(), event.getCreated()))
+                    .toList();
+            sinks.forEach(sink -> sink.send(events));
+            outboxEventRepository.deleteAllInBatch(batch);
+            log.info("Dispatched {} outbox events", events.size());
+            return events.size();
+        });
+        return dispatched == null ? 0 : dispatched;
+    }
+}
@@ -0,0 +1,23 @@
+package ru.practicum.shareit.event.sink;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.event.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Hands events to in-process {@code @EventListener(DomainEvent.class)} listeners.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationEventSink implements EventSink {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void send(List<DomainEvent> events) {
+        events.forEach(eventPublisher::publishEvent);
+    }
+}
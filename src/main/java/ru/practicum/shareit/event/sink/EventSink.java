@@ -0,0 +1,14 @@
+package ru.practicum.shareit.event.sink;
+
+import ru.practicum.shareit.event.DomainEvent;
+
+import java.util.List;
+
+/**
+ * Destination of dispatched outbox events. A failing sink makes the whole batch stay in the outbox,
+ * so sinks must tolerate receiving an event more than once.
+ */
+public interface EventSink {
+
+    void send(List<DomainEvent> events);
+}
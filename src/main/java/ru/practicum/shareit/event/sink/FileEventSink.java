@@ -0,0 +1,47 @@
+package ru.practicum.shareit.event.sink;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.event.DomainEvent;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Appends events as NDJSON lines to a local file. Meant for tests and local runs.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.file-sink.path")
+public class FileEventSink implements EventSink {
+
+    private final Path path;
+    private final ObjectMapper objectMapper;
+
+    public FileEventSink(@Value("${shareit.outbox.file-sink.path}") Path path, ObjectMapper objectMapper) {
+        this.path = path;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void send(List<DomainEvent> events) {
+        List<String> lines = new ArrayList<>(events.size());
+        try {
+            for (DomainEvent event : events) {
+                lines.add(objectMapper.writeValueAsString(event));
+            }
+            Files.write(path, lines, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Can't serialize event", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
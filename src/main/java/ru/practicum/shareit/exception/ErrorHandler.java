@@ -1,20 +1,35 @@
 package ru.practicum.shareit.exception;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import java.util.Locale;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 @Slf4j
 public class ErrorHandler {
 
-    @ExceptionHandler({ConstraintViolationException.class, MethodArgumentNotValidException.class, ItemIsNotAvailable.class})
+    private static final String USER_EMAIL_CONSTRAINT = "UQ_USER_EMAIL";
+
+    private final MeterRegistry meterRegistry;
+
+    @ExceptionHandler({ConstraintViolationException.class, MethodArgumentNotValidException.class, ItemIsNotAvailable.class,
+            IncorrectCursorException.class, IncorrectPeriodException.class, MalformedImportException.class,
+            MethodArgumentTypeMismatchException.class})
     public ResponseEntity<?> handleConstraintValidationException(final Exception e) {
         log.info("Status code 400 {}", e.getMessage());
+        countOutcome(e, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(new ErrorResponse("400 " + e.getMessage(),
                 "Incorrect input data"),
                 HttpStatus.BAD_REQUEST);
@@ -23,14 +38,38 @@ public class ErrorHandler {
     @ExceptionHandler
     public ResponseEntity<?> handleNotUniqueFieldException(final EmailAlreadyExist e) {
         log.info("Email already exist {}", e.getMessage());
+        countOutcome(e, HttpStatus.CONFLICT);
         return new ResponseEntity<>(new ErrorResponse("409 " + e.getMessage(),
                 "Email already exist"),
                 HttpStatus.CONFLICT);
     }
 
+    /**
+     * Email uniqueness is enforced by the {@code UQ_USER_EMAIL} constraint alone, its violation means the email is taken.
+     */
+    @ExceptionHandler
+    public ResponseEntity<?> handleDataIntegrityViolation(final DataIntegrityViolationException e) {
+        if (e.getCause() instanceof org.hibernate.exception.ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toUpperCase(Locale.ROOT).contains(USER_EMAIL_CONSTRAINT)) {
+            return handleNotUniqueFieldException(new EmailAlreadyExist("Try another email. This already exist"));
+        }
+        return handleOtherExceptions(e);
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<?> handleConcurrentModification(final OptimisticLockingFailureException e) {
+        log.info("Concurrent modification 409 {}", e.getMessage());
+        countOutcome(e, HttpStatus.CONFLICT);
+        return new ResponseEntity<>(new ErrorResponse("409 " + e.getMessage(),
+                "Data was changed concurrently, try again"),
+                HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler({EntityNotFoundException.class, IncorrectArgumentException.class})
     public ResponseEntity<?> handleEntityNotFound(final Exception e) {
         log.info("Entity not found 404 {}", e.getMessage());
+        countOutcome(e, HttpStatus.NOT_FOUND);
         return new ResponseEntity<>(new ErrorResponse("404 " + e.getMessage(),
                 "Entity not founf"),
                 HttpStatus.NOT_FOUND);
@@ -39,6 +78,7 @@ public class ErrorHandler {
     @ExceptionHandler
     public ResponseEntity<?> handleOtherExceptions(final Throwable e) {
         log.info("Status code: 500 {}", e.getMessage());
+        countOutcome(e, HttpStatus.INTERNAL_SERVER_ERROR);
         return new ResponseEntity<>(new ErrorResponse("500 " + e.getMessage(),
                 "Internal Server error"),
                 HttpStatus.INTERNAL_SERVER_ERROR);
@@ -47,8 +87,18 @@ public class ErrorHandler {
     @ExceptionHandler
     public ResponseEntity<?> handleNotEnoughRightsToChangeBooking(final NotEnoughRightsToChangeData e) {
         log.info("Status code: 400 {}", e.getMessage());
+        countOutcome(e, HttpStatus.BAD_REQUEST);
         return new ResponseEntity<>(new ErrorResponse("403 " + e.getMessage(),
                 "Wrong booking owner"),
                 HttpStatus.BAD_REQUEST);
     }
+
+    /**
+     * Counts every handled error, domain or not, by response status and exception type.
+     */
+    private void countOutcome(Throwable e, HttpStatus status) {
+        meterRegistry.counter("shareit.errors",
+                "status", String.valueOf(status.value()),
+                "exception", e.getClass().getSimpleName()).increment();
+    }
 }
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class IncorrectPeriodException extends RuntimeException {
+    public IncorrectPeriodException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception;
+
+public class MalformedImportException extends RuntimeException {
+    public MalformedImportException(String message) {
+        super(message);
+    }
+}
@@ -1,11 +1,24 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @Query("select cm " +
+            "from Comment cm " +
+            "JOIN FETCH cm.author " +
+            "where cm.item.id = ?1")
     Set<Comment> findByItemId(long itemId);
+
+    @Query("select cm " +
+            "from Comment cm " +
+            "JOIN FETCH cm.author " +
+            "where cm.item.id in ?1")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
 }
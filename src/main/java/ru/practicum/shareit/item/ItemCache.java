@@ -0,0 +1,93 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemOwnerDto;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Bounded read-through cache of item pages without last/next booking dates, stored with the version stamp
+ * they were built from. Entries expire after a short time to live and are evicted explicitly
+ * when the item, its comments or its bookings change, or when their stamp turns out to be stale.
+ * <p>
+ * Every eviction bumps the generation of the item's stripe. A loader stores its page only if the generation
+ * didn't move while it read, so a page read before a writer committed is never cached after the commit.
+ * Cached pages are shared between readers and must not be modified.
+ */
+@Component
+@Slf4j
+public class ItemCache {
+
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final Cache<Long, CachedItem> cache;
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    public ItemCache(@Value("${shareit.item-cache.maximum-size}") long maximumSize,
+                     @Value("${shareit.item-cache.time-to-live}") Duration timeToLive,
+                     MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "items");
+    }
+
+    public CachedItem get(long itemId, Supplier<CachedItem> loader) {
+        CachedItem cached = cache.getIfPresent(itemId);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(itemId);
+        long generation = generations.get(stripe);
+        CachedItem loaded = loader.get();
+        cache.asMap().compute(itemId, (id, current) -> generations.get(stripe) == generation ? loaded : current);
+        return loaded;
+    }
+
+    /**
+     * Evicts the item once the current transaction commits, so readers can't cache its old state again.
+     */
+    public void evict(long itemId) {
+        log.info("Evicting item {} from cache", itemId);
+        invalidate(itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(itemId);
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops the entry if it was built from a different stamp than the current one.
+     */
+    public void evictIfStale(long itemId, ItemVersionStamp stamp) {
+        cache.asMap().computeIfPresent(itemId, (id, cached) -> stamp.equals(cached.stamp()) ? cached : null);
+    }
+
+    private void invalidate(long itemId) {
+        generations.incrementAndGet(stripe(itemId));
+        cache.invalidate(itemId);
+    }
+
+    private static int stripe(long itemId) {
+        return Math.floorMod(Long.hashCode(itemId), GENERATION_STRIPES);
+    }
+
+    public record CachedItem(ItemVersionStamp stamp, ItemOwnerDto item) {
+    }
+}
@@ -2,6 +2,8 @@ package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -11,14 +13,21 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.booking.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
 import ru.practicum.shareit.item.dto.NewCommentRequestDto;
 import ru.practicum.shareit.item.dto.NewItemRequestDto;
 import ru.practicum.shareit.item.dto.UpdateItemRequestDto;
+import ru.practicum.shareit.util.ETagFormat;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static ru.practicum.shareit.util.HeaderConstant.USER_ID_HEADER;
 
@@ -35,6 +44,18 @@ public class ItemController {
         return itemService.createItem(requestDto, userId);
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ItemImportResult importItemsFromNdjson(InputStream body,
+                                                  @RequestHeader(USER_ID_HEADER) long userId) {
+        return itemService.importItems(body, ItemImportFormat.NDJSON, userId);
+    }
+
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ItemImportResult importItemsFromCsv(InputStream body,
+                                               @RequestHeader(USER_ID_HEADER) long userId) {
+        return itemService.importItems(body, ItemImportFormat.CSV, userId);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDto createComment(@Valid @RequestBody NewCommentRequestDto request,
                                     @PathVariable long itemId,
@@ -51,10 +72,23 @@ public class ItemController {
 
     @GetMapping("/{itemId}")
     public ItemOwnerDto getItem(@PathVariable long itemId,
-                                @RequestHeader(USER_ID_HEADER) long ownerItemId) {
+                                @RequestHeader(USER_ID_HEADER) long ownerItemId,
+                                WebRequest request) {
+        Optional<String> eTag = itemService.getItemETag(itemId, ownerItemId);
+        if (eTag.isPresent() && request.checkNotModified(ETagFormat.forRequest(eTag.get(), request))) {
+            return null;
+        }
         return itemService.getItem(itemId, ownerItemId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(
+            @PathVariable long itemId,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return itemService.getItemAvailability(itemId, from, to);
+    }
+
     @GetMapping
     public List<ItemOwnerDto> getOwnersItems(@RequestHeader(USER_ID_HEADER) long userId) {
         return itemService.getOwnersItems(userId);
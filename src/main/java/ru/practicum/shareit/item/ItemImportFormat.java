@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item;
+
+public enum ItemImportFormat {
+    /**
+     * One JSON object per line with the fields of {@code NewItemRequestDto}.
+     */
+    NDJSON,
+    /**
+     * Header line naming the {@code name}, {@code description} and {@code available} columns, then one item per line.
+     * Fields may be double-quoted, a quote inside a quoted field is doubled.
+     */
+    CSV
+}
@@ -0,0 +1,146 @@
+package ru.practicum.shareit.item;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import ru.practicum.shareit.exception.MalformedImportException;
+import ru.practicum.shareit.item.dto.NewItemRequestDto;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads an item import body line by line, so only the current line is held in memory.
+ */
+class ItemImportReader {
+
+    private final BufferedReader reader;
+    private final ItemImportFormat format;
+    private final ObjectMapper objectMapper;
+
+    private long lineNumber;
+    private int nameColumn = -1;
+    private int descriptionColumn = -1;
+    private int availableColumn = -1;
+
+    ItemImportReader(BufferedReader reader, ItemImportFormat format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the next non-blank line parsed into a request, or {@code null} at the end of the body.
+     */
+    Line next() {
+        String text = readLine();
+        while (text != null && text.isBlank()) {
+            text = readLine();
+        }
+        if (text == null) {
+            return null;
+        }
+        if (format == ItemImportFormat.CSV && nameColumn < 0) {
+            readHeader(text);
+            return next();
+        }
+        try {
+            return new Line(lineNumber, format == ItemImportFormat.CSV ? parseCsv(text) : parseJson(text), null);
+        } catch (IllegalArgumentException e) {
+            return new Line(lineNumber, null, e.getMessage());
+        }
+    }
+
+    private String readLine() {
+        try {
+            String text = reader.readLine();
+            lineNumber++;
+            return text;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readHeader(String text) {
+        List<String> columns;
+        try {
+            columns = splitCsv(text);
+        } catch (IllegalArgumentException e) {
+            throw new MalformedImportException("Malformed header: " + e.getMessage());
+        }
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "name" -> nameColumn = i;
+                case "description" -> descriptionColumn = i;
+                case "available" -> availableColumn = i;
+                default -> {
+                }
+            }
+        }
+        if (nameColumn < 0 || descriptionColumn < 0 || availableColumn < 0) {
+            throw new MalformedImportException("Header must contain name, description and available columns");
+        }
+    }
+
+    private NewItemRequestDto parseJson(String text) {
+        try {
+            return objectMapper.readValue(text, NewItemRequestDto.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    private NewItemRequestDto parseCsv(String text) {
+        List<String> fields = splitCsv(text);
+        if (fields.size() <= Math.max(nameColumn, Math.max(descriptionColumn, availableColumn))) {
+            throw new IllegalArgumentException("Expected at least " + (Math.max(nameColumn,
+                    Math.max(descriptionColumn, availableColumn)) + 1) + " fields, got " + fields.size());
+        }
+        String available = fields.get(availableColumn).trim();
+        if (!available.equalsIgnoreCase("true") && !available.equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Available must be true or false");
+        }
+        NewItemRequestDto requestDto = new NewItemRequestDto();
+        requestDto.setName(fields.get(nameColumn));
+        requestDto.setDescription(fields.get(descriptionColumn));
+        requestDto.setAvailable(Boolean.parseBoolean(available));
+        return requestDto;
+    }
+
+    private static List<String> splitCsv(String text) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    record Line(long number, NewItemRequestDto item, String error) {
+    }
+}
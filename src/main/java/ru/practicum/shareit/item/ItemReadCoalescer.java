@@ -0,0 +1,75 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.item.dto.ItemOwnerDto;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight for item reads: concurrent reads of the same item by the same viewer wait for
+ * the one already running and share its result or exception. Nothing is kept once the read completes,
+ * so a read that starts after it never sees an older result.
+ */
+@Component
+public class ItemReadCoalescer {
+
+    private final boolean enabled;
+    private final Counter executed;
+    private final Counter coalesced;
+
+    private final Map<Key, CompletableFuture<ItemOwnerDto>> inFlight = new ConcurrentHashMap<>();
+
+    public ItemReadCoalescer(@Value("${shareit.item-coalescing.enabled}") boolean enabled,
+                             MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.executed = meterRegistry.counter("shareit.item.reads", "result", "executed");
+        this.coalesced = meterRegistry.counter("shareit.item.reads", "result", "coalesced");
+        meterRegistry.gauge("shareit.item.reads.in.flight", inFlight, Map::size);
+    }
+
+    public ItemOwnerDto get(long itemId, long viewerId, Supplier<ItemOwnerDto> loader) {
+        if (!enabled) {
+            executed.increment();
+            return loader.get();
+        }
+        Key key = new Key(itemId, viewerId);
+        CompletableFuture<ItemOwnerDto> own = new CompletableFuture<>();
+        CompletableFuture<ItemOwnerDto> running = inFlight.putIfAbsent(key, own);
+        if (running != null) {
+            coalesced.increment();
+            return join(running);
+        }
+        executed.increment();
+        try {
+            ItemOwnerDto item = loader.get();
+            own.complete(item);
+            return item;
+        } catch (RuntimeException | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    private ItemOwnerDto join(CompletableFuture<ItemOwnerDto> running) {
+        try {
+            return running.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(long itemId, long viewerId) {
+    }
+}
@@ -2,9 +2,11 @@ package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.item.dto.ItemOwnerDto;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,15 +14,37 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findAllByOwnerId(long ownerId);
 
-    @Query("SELECT i FROM Item i " +
-            "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', :query, '%')) " +
-            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', :query, '%'))) " +
-            "AND i.available = true")
-    List<Item> searchAvailableItemsByNameOrDescription(@Param("query") String query);
+    @Query("select new ru.practicum.shareit.item.dto.ItemOwnerDto(it.id, it.name, it.description, it.available) " +
+            "from Item it " +
+            "where it.owner.id = ?1 " +
+            "order by it.id")
+    List<ItemOwnerDto> findOwnerDtosByOwnerId(long ownerId);
+
+    @Query("select new ru.practicum.shareit.request.dto.ItemAnswerDto(it.id, it.name, it.owner.id, it.request.id) " +
+            "from Item it " +
+            "where it.request.id in ?1 " +
+            "order by it.id")
+    List<ItemAnswerDto> findAnswersByRequestIds(Collection<Long> requestIds);
+
+    @Query("select new ru.practicum.shareit.item.ItemVersionStamp(it.owner.id, it.version, " +
+            "(select count(c) from Comment c where c.item.id = it.id), " +
+            "(select coalesce(max(c.id), 0L) from Comment c where c.item.id = it.id), " +
+            "(select coalesce(sum(c.author.version), 0L) from Comment c where c.item.id = it.id)) " +
+            "from Item it " +
+            "where it.id = ?1")
+    Optional<ItemVersionStamp> findVersionStamp(long itemId);
+
+    List<Item> findAllByAvailableTrue();
 
     @Query("select it " +
             "from Item it " +
             "JOIN FETCH it.owner " +
             "where it.id = ?1")
     Optional<Item> findByIdWithUser(long itemId);
+
+    @Query("select it " +
+            "from Item it " +
+            "JOIN FETCH it.owner " +
+            "where it.id in ?1")
+    List<Item> findAllByIdWithUser(Collection<Long> itemIds);
 }
@@ -0,0 +1,138 @@
+package ru.practicum.shareit.item;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory trigram index over name and description of available items.
+ * Answers substring queries with the same semantics as {@code LOWER(...) LIKE '%query%'}:
+ * trigram postings narrow down candidates, candidates are verified against the indexed text.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    private final ItemRepository itemRepository;
+
+    private final Map<Long, IndexedText> documents = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void rebuild() {
+        log.info("Building item search index");
+        documents.clear();
+        postings.clear();
+        itemRepository.findAllByAvailableTrue()
+                .forEach(item -> put(item.getId(), item.getName(), item.getDescription()));
+        log.info("Item search index built, {} items indexed", documents.size());
+    }
+
+    /**
+     * Applies item state to the index. Inside a transaction the change is deferred until commit,
+     * so rolled back changes never become searchable.
+     */
+    public void update(Item item) {
+        long itemId = item.getId();
+        String name = item.getName();
+        String description = item.getDescription();
+        boolean available = Boolean.TRUE.equals(item.getAvailable());
+        Runnable change = () -> {
+            if (available) {
+                put(itemId, name, description);
+            } else {
+                remove(itemId);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    /**
+     * Returns ids of available items whose name or description contains the text, ordered by id.
+     */
+    public Set<Long> search(String text) {
+        String query = text.toLowerCase();
+        Set<Long> result = new TreeSet<>();
+        for (Long itemId : candidates(query)) {
+            IndexedText document = documents.get(itemId);
+            if (document != null && document.contains(query)) {
+                result.add(itemId);
+            }
+        }
+        return result;
+    }
+
+    private Set<Long> candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return documents.keySet();
+        }
+        Set<Long> smallest = null;
+        for (String gram : grams(query)) {
+            Set<Long> posting = postings.getOrDefault(gram, Collections.emptySet());
+            if (smallest == null || posting.size() < smallest.size()) {
+                smallest = posting;
+            }
+        }
+        return smallest == null ? Collections.emptySet() : smallest;
+    }
+
+    private synchronized void put(long itemId, String name, String description) {
+        remove(itemId);
+        IndexedText document = new IndexedText(name.toLowerCase(), description.toLowerCase());
+        Set<String> grams = grams(document.name());
+        grams.addAll(grams(document.description()));
+        grams.forEach(gram -> postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(itemId));
+        documents.put(itemId, document);
+    }
+
+    private synchronized void remove(long itemId) {
+        IndexedText document = documents.remove(itemId);
+        if (document == null) {
+            return;
+        }
+        Set<String> grams = grams(document.name());
+        grams.addAll(grams(document.description()));
+        grams.forEach(gram -> postings.computeIfPresent(gram, (key, ids) -> {
+            ids.remove(itemId);
+            return ids.isEmpty() ? null : ids;
+        }));
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private record IndexedText(String name, String description) {
+
+        boolean contains(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+    }
+}
@@ -1,25 +1,36 @@
 package ru.practicum.shareit.item;
 
+import ru.practicum.shareit.booking.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
 import ru.practicum.shareit.item.dto.NewCommentRequestDto;
 import ru.practicum.shareit.item.dto.NewItemRequestDto;
 import ru.practicum.shareit.item.dto.UpdateItemRequestDto;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemService {
 
     ItemDto createItem(NewItemRequestDto requestDto, long userId);
 
+    ItemImportResult importItems(InputStream body, ItemImportFormat format, long userId);
+
     ItemDto updateItem(UpdateItemRequestDto requestDto, long userId, long itemId);
 
     ItemOwnerDto getItem(long userId, long ownerItemId);
 
+    Optional<String> getItemETag(long itemId, long viewerId);
+
     List<ItemOwnerDto> getOwnersItems(long userId);
 
     List<ItemDto> searchItemsByText(String text);
 
     CommentDto createComment(NewCommentRequestDto request, long itemId, long userId);
+
+    ItemAvailabilityDto getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to);
 }
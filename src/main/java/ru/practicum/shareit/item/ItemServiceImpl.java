@@ -1,17 +1,29 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.booking.BookingService;
-import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.booking.dto.ItemBookingDates;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.event.OutboxPublisher;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.exception.IncorrectArgumentException;
 import ru.practicum.shareit.exception.NotEnoughRightsToChangeData;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemImportResult;
 import ru.practicum.shareit.item.dto.ItemOwnerDto;
 import ru.practicum.shareit.item.dto.NewCommentRequestDto;
 import ru.practicum.shareit.item.dto.NewItemRequestDto;
@@ -20,28 +32,58 @@ import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.KnownUsers;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.model.User;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import static ru.practicum.shareit.booking.SearchBookingStates.ALL;
+import static ru.practicum.shareit.event.EventType.COMMENT_CREATED;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
+@Timed(value = "shareit.item.service", histogram = true)
 public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
     private final UserRepository userRepository;
+    private final KnownUsers knownUsers;
     private final BookingService bookingService;
     private final CommentRepository commentRepository;
+    private final ItemRequestRepository itemRequestRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemCache itemCache;
+    private final ItemReadCoalescer itemReadCoalescer;
+    private final OutboxPublisher outboxPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${shareit.item-import.chunk-size}")
+    private int importChunkSize;
+
+    @Value("${shareit.item-import.max-reported-errors}")
+    private int maxReportedImportErrors;
 
     @Override
     @Transactional
@@ -51,11 +93,55 @@ public class ItemServiceImpl implements ItemService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
         item.setOwner(user);
+        if (requestDto.getRequestId() != null) {
+            item.setRequest(itemRequestRepository.findById(requestDto.getRequestId())
+                    .orElseThrow(() -> new EntityNotFoundException("Item request not found")));
+        }
         item = itemRepository.save(item);
+        itemSearchIndex.update(item);
         log.info("Created new Item {}", item);
         return itemMapper.toItemDto(item);
     }
 
+    /**
+     * Streams items from the body and commits them in chunks of {@code shareit.item-import.chunk-size},
+     * so an import is not atomic: chunks committed before a failure stay. Invalid lines are skipped and reported.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public ItemImportResult importItems(InputStream body, ItemImportFormat format, long userId) {
+        log.info("Importing {} items of owner ID: {}", format, userId);
+        if (!knownUsers.exists(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+        ItemImportResult result = new ItemImportResult();
+        ItemImportReader reader = new ItemImportReader(
+                new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8)), format, objectMapper);
+        List<Item> chunk = new ArrayList<>(importChunkSize);
+        for (ItemImportReader.Line line = reader.next(); line != null; line = reader.next()) {
+            String error = line.error() != null ? line.error() : validate(line.item());
+            if (error != null) {
+                result.setRejected(result.getRejected() + 1);
+                if (result.getErrors().size() < maxReportedImportErrors) {
+                    result.getErrors().add(new ItemImportResult.LineError(line.number(), error));
+                }
+                continue;
+            }
+            chunk.add(itemMapper.toItem(line.item()));
+            if (chunk.size() == importChunkSize) {
+                saveImportChunk(chunk, userId);
+                result.setImported(result.getImported() + chunk.size());
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            saveImportChunk(chunk, userId);
+            result.setImported(result.getImported() + chunk.size());
+        }
+        log.info("Imported {} items of owner ID: {}, rejected {}", result.getImported(), userId, result.getRejected());
+        return result;
+    }
+
     @Override
     @Transactional
     public CommentDto createComment(NewCommentRequestDto request, long itemId, long userId) {
@@ -73,7 +159,10 @@ public class ItemServiceImpl implements ItemService {
         comment.setAuthor(user);
         comment.setCreated(LocalDateTime.now());
         comment = commentRepository.save(comment);
-        return commentMapper.mapToCommentDto(comment);
+        itemCache.evict(itemId);
+        CommentDto commentDto = commentMapper.mapToCommentDto(comment);
+        outboxPublisher.publish(COMMENT_CREATED, itemId, commentDto);
+        return commentDto;
     }
 
     @Override
@@ -88,42 +177,64 @@ public class ItemServiceImpl implements ItemService {
         itemMapper.updateItem(requestDto, updatedItem);
         updatedItem.setId(itemId);
         itemRepository.save(updatedItem);
+        itemSearchIndex.update(updatedItem);
+        itemCache.evict(itemId);
         log.info("Updated item {}", updatedItem);
         return itemMapper.toItemDto(updatedItem);
     }
 
+    /**
+     * Runs without a surrounding transaction, so callers waiting on a coalesced read don't hold connections.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public ItemOwnerDto getItem(long itemId, long ownerItemId) {
         log.info("Getting item {} info", itemId);
-        Item item = itemRepository.findByIdWithUser(itemId)
-                .orElseThrow(() -> new EntityNotFoundException("Item Not Found"));
-        List<BookingDto> hisBookings = bookingService.getOwnersBookings(ownerItemId, ALL);
-        BookingDates bookingDates = getBookingDates(hisBookings);
-        ItemOwnerDto itemDto = itemMapper.toItemOwnerDto(item);
-        itemDto.setComments(commentRepository.findByItemId(itemId)
-                .stream()
-                .map(commentMapper::mapToCommentDto)
-                .collect(Collectors.toSet()));
-        itemDto.setLastBooking(bookingDates.lastBooking());
-        itemDto.setNextBooking(bookingDates.nextBooking());
+        return itemReadCoalescer.get(itemId, ownerItemId,
+                () -> transactionTemplate.execute(status -> readItem(itemId, ownerItemId)));
+    }
 
-        return itemDto;
+    /**
+     * Built from version stamps, plus the last and next booking dates for the owner,
+     * who is the only viewer that sees them and for whom they move with the clock.
+     * A cached page older than the stamp is dropped, so the body that follows is never older than its tag.
+     */
+    @Override
+    public Optional<String> getItemETag(long itemId, long viewerId) {
+        return itemRepository.findVersionStamp(itemId)
+                .map(stamp -> {
+                    itemCache.evictIfStale(itemId, stamp);
+                    String eTag = stamp.toETag(itemId);
+                    if (stamp.ownerId() != viewerId) {
+                        return eTag;
+                    }
+                    ItemBookingDates dates = bookingService.getBookingDatesOfItems(List.of(itemId)).get(itemId);
+                    return eTag + "-owner-" + (dates == null ? "none" : dates.lastBooking() + "-" + dates.nextBooking());
+                });
     }
 
     @Override
     public List<ItemOwnerDto> getOwnersItems(long userId) {
         log.info("Getting owners items");
-        List<BookingDto> hisBookings = bookingService.getOwnersBookings(userId, ALL);
-        BookingDates bookingDates = getBookingDates(hisBookings);
-
-        return itemRepository.findAllByOwnerId(userId)
-                .stream()
-                .map(itemMapper::toItemOwnerDto)
-                .peek(itemDto -> {
-                    itemDto.setLastBooking(bookingDates.lastBooking());
-                    itemDto.setNextBooking(bookingDates.nextBooking());
-                })
+        if (!knownUsers.exists(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+        List<ItemOwnerDto> items = itemRepository.findOwnerDtosByOwnerId(userId);
+        List<Long> itemIds = items.stream()
+                .map(ItemOwnerDto::getId)
                 .toList();
+        Map<Long, ItemBookingDates> bookingDates = bookingService.getBookingDatesOfItems(itemIds);
+        Map<Long, Set<CommentDto>> comments = itemIds.isEmpty() ? Collections.emptyMap()
+                : commentRepository.findAllByItemIdIn(itemIds)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(commentMapper::mapToCommentDto, Collectors.toSet())));
+
+        items.forEach(itemDto -> {
+            setBookingDates(itemDto, bookingDates);
+            itemDto.setComments(comments.getOrDefault(itemDto.getId(), Collections.emptySet()));
+        });
+        return items;
     }
 
     @Override
@@ -133,32 +244,89 @@ public class ItemServiceImpl implements ItemService {
             return Collections.emptyList();
         }
         log.info("Searching item with query - {}", text);
-        return itemRepository.searchAvailableItemsByNameOrDescription(text.toLowerCase())
+        Set<Long> foundIds = itemSearchIndex.search(text);
+        if (foundIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return itemRepository.findAllById(foundIds)
                 .stream()
+                .filter(Item::getAvailable)
+                .sorted(Comparator.comparingLong(Item::getId))
                 .map(itemMapper::toItemDto)
                 .toList();
     }
 
+    @Override
+    public ItemAvailabilityDto getItemAvailability(long itemId, LocalDateTime from, LocalDateTime to) {
+        return bookingService.getItemAvailability(itemId, from, to);
+    }
+
+    private String validate(NewItemRequestDto requestDto) {
+        Set<ConstraintViolation<NewItemRequestDto>> violations = validator.validate(requestDto);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Inserts go out as JDBC batches of {@code hibernate.jdbc.batch_size}. The persistence context
+     * is cleared after the flush, inside the chunk's transaction, so it never holds more than one chunk.
+     */
+    private void saveImportChunk(List<Item> chunk, long userId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            User owner = userRepository.getReferenceById(userId);
+            chunk.forEach(item -> item.setOwner(owner));
+            itemRepository.saveAll(chunk);
+            itemRepository.flush();
+            entityManager.clear();
+            chunk.forEach(itemSearchIndex::update);
+        });
+    }
+
     private void isOwnerOfItemCorrect(long itemIdOwner, long requestUserId) {
         if (!(itemIdOwner == requestUserId)) {
             throw new IncorrectArgumentException("Incorrect owner id");
         }
     }
 
-    private BookingDates getBookingDates(List<BookingDto> bookings) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime lastBooking = bookings.stream()
-                .map(BookingDto::getEnd)
-                .filter(end -> end.isBefore(now))
-                .max(LocalDateTime::compareTo)
-                .orElse(null);
-        LocalDateTime nextBooking = bookings.stream()
-                .map(BookingDto::getStart)
-                .filter(start -> start.isAfter(now))
-                .min(LocalDateTime::compareTo)
-                .orElse(null);
-        return new BookingDates(lastBooking, nextBooking);
+    /**
+     * Every viewer gets a copy of the cached page. Booking dates are read on every owner view
+     * rather than cached, because they move with the clock.
+     */
+    private ItemOwnerDto readItem(long itemId, long ownerItemId) {
+        ItemCache.CachedItem cached = itemCache.get(itemId, () -> loadItem(itemId));
+        ItemOwnerDto itemDto = itemMapper.withoutBookingDates(cached.item());
+        if (cached.stamp().ownerId() == ownerItemId) {
+            setBookingDates(itemDto, bookingService.getBookingDatesOfItems(List.of(itemId)));
+        }
+        return itemDto;
+    }
+
+    /**
+     * Reads the stamp first, so the cached page is never older than the stamp it is stored with.
+     */
+    private ItemCache.CachedItem loadItem(long itemId) {
+        ItemVersionStamp stamp = itemRepository.findVersionStamp(itemId)
+                .orElseThrow(() -> new EntityNotFoundException("Item Not Found"));
+        Item item = itemRepository.findByIdWithUser(itemId)
+                .orElseThrow(() -> new EntityNotFoundException("Item Not Found"));
+        ItemOwnerDto itemDto = itemMapper.toItemOwnerDto(item);
+        itemDto.setComments(commentRepository.findByItemId(itemId)
+                .stream()
+                .map(commentMapper::mapToCommentDto)
+                .collect(Collectors.toSet()));
+        return new ItemCache.CachedItem(stamp, itemDto);
     }
 
-    private record BookingDates(LocalDateTime lastBooking, LocalDateTime nextBooking) { }
+    private void setBookingDates(ItemOwnerDto itemDto, Map<Long, ItemBookingDates> bookingDates) {
+        ItemBookingDates dates = bookingDates.get(itemDto.getId());
+        if (dates != null) {
+            itemDto.setLastBooking(dates.lastBooking());
+            itemDto.setNextBooking(dates.nextBooking());
+        }
+    }
 }
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.item;
+
+/**
+ * Version stamps of everything an item page is built from, except the owner-only booking dates.
+ * Comments are never changed or deleted, so their count and last id identify the set,
+ * and the sum of author versions changes when an author is renamed.
+ */
+public record ItemVersionStamp(long ownerId, long version, long comments, long lastCommentId, long authorVersions) {
+
+    String toETag(long itemId) {
+        return "item-" + itemId + "-" + version + "-" + comments + "-" + lastCommentId + "-" + authorVersions;
+    }
+}
@@ -1,12 +1,17 @@
 package ru.practicum.shareit.item.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ItemDto {
 
     private long id;
     private String name;
     private String description;
     private boolean available;
+    private Long requestId;
 }
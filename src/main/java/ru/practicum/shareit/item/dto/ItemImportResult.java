@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class ItemImportResult {
+
+    private long imported;
+    private long rejected;
+    private List<LineError> errors = new ArrayList<>();
+
+    public record LineError(long line, String message) {
+    }
+}
@@ -1,11 +1,13 @@
 package ru.practicum.shareit.item.dto;
 
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.Set;
 
 @Data
+@NoArgsConstructor
 public class ItemOwnerDto {
 
     private long id;
@@ -15,4 +17,11 @@ public class ItemOwnerDto {
     private LocalDateTime lastBooking;
     private LocalDateTime nextBooking;
     private Set<CommentDto> comments;
+
+    public ItemOwnerDto(long id, String name, String description, boolean available) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+    }
 }
@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
 
@@ -18,4 +19,6 @@ public class NewItemRequestDto {
     private String description;
     @NotNull
     private Boolean available;
+    @Positive
+    private Long requestId;
 }
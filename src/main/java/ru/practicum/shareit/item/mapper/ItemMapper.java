@@ -2,6 +2,7 @@ package ru.practicum.shareit.item.mapper;
 
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
@@ -14,13 +15,23 @@ import ru.practicum.shareit.item.model.Item;
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
 public interface ItemMapper {
 
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "request", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Item toItem(NewItemRequestDto requestDto);
 
+    @Mapping(target = "requestId", source = "request.id")
     ItemDto toItemDto(Item item);
 
     ItemOwnerDto toItemOwnerDto(Item item);
 
+    @Mapping(target = "lastBooking", ignore = true)
+    @Mapping(target = "nextBooking", ignore = true)
+    ItemOwnerDto withoutBookingDates(ItemOwnerDto itemDto);
+
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "request", ignore = true)
+    @Mapping(target = "version", ignore = true)
     void updateItem(UpdateItemRequestDto requestDto, @MappingTarget Item item);
 
 
@@ -1,12 +1,72 @@
 package ru.practicum.shareit.request;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.NewItemRequestRequest;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import java.util.List;
+
+import static ru.practicum.shareit.util.HeaderConstant.USER_ID_HEADER;
+import static ru.practicum.shareit.util.PageConstant.DEFAULT_PAGE_SIZE;
+import static ru.practicum.shareit.util.PageConstant.MAX_PAGE_SIZE;
+import static ru.practicum.shareit.util.PageConstant.NEXT_CURSOR_HEADER;
 
-/**
- * TODO Sprint add-item-requests.
- */
 @RestController
 @RequestMapping(path = "/requests")
+@Validated
+@RequiredArgsConstructor
 public class ItemRequestController {
+
+    private final ItemRequestService itemRequestService;
+
+    @PostMapping
+    public ItemRequestDto createRequest(@Valid @RequestBody NewItemRequestRequest request,
+                                        @RequestHeader(USER_ID_HEADER) long userId) {
+        return itemRequestService.createRequest(request, userId);
+    }
+
+    @GetMapping
+    public ResponseEntity<List<ItemRequestDto>> getOwnRequests(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+            @RequestHeader(USER_ID_HEADER) long userId) {
+        return toPage(itemRequestService.getOwnRequests(userId, KeysetCursor.decode(cursor), size), size);
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<List<ItemRequestDto>> getOtherUsersRequests(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", defaultValue = DEFAULT_PAGE_SIZE) @Positive @Max(MAX_PAGE_SIZE) int size,
+            @RequestHeader(USER_ID_HEADER) long userId) {
+        return toPage(itemRequestService.getOtherUsersRequests(userId, KeysetCursor.decode(cursor), size), size);
+    }
+
+    @GetMapping("/{requestId}")
+    public ItemRequestDto getRequest(@PathVariable @Positive long requestId,
+                                     @RequestHeader(USER_ID_HEADER) long userId) {
+        return itemRequestService.getRequest(requestId, userId);
+    }
+
+    private ResponseEntity<List<ItemRequestDto>> toPage(List<ItemRequestDto> requests, int size) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (requests.size() == size) {
+            ItemRequestDto last = requests.getLast();
+            response.header(NEXT_CURSOR_HEADER, new KeysetCursor(last.getCreated(), last.getId()).encode());
+        }
+        return response.body(requests);
+    }
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.request;
+
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.NewItemRequestRequest;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import java.util.List;
+
+public interface ItemRequestService {
+
+    ItemRequestDto createRequest(NewItemRequestRequest request, long userId);
+
+    List<ItemRequestDto> getOwnRequests(long userId, KeysetCursor after, int size);
+
+    List<ItemRequestDto> getOtherUsersRequests(long userId, KeysetCursor after, int size);
+
+    ItemRequestDto getRequest(long requestId, long userId);
+}
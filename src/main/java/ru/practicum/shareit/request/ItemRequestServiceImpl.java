@@ -0,0 +1,118 @@
+package ru.practicum.shareit.request;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.EntityNotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemAnswerDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.NewItemRequestRequest;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.user.KnownUsers;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.request.QItemRequest.itemRequest;
+import static ru.practicum.shareit.util.PageConstant.MAX_PAGE_SIZE;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+@Transactional(readOnly = true)
+@Timed(value = "shareit.request.service", histogram = true)
+public class ItemRequestServiceImpl implements ItemRequestService {
+
+    private static final Sort PAGE_SORT = Sort.by(Sort.Direction.DESC, "created")
+            .and(Sort.by(Sort.Direction.DESC, "id"));
+
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final KnownUsers knownUsers;
+    private final ItemRequestMapper itemRequestMapper;
+
+    @Override
+    @Transactional
+    public ItemRequestDto createRequest(NewItemRequestRequest request, long userId) {
+        log.info("User {}, creating item request {}", userId, request);
+        User requester = userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        ItemRequest itemRequest = itemRequestMapper.toItemRequest(request);
+        itemRequest.setRequester(requester);
+        itemRequest.setCreated(LocalDateTime.now());
+        itemRequest = itemRequestRepository.save(itemRequest);
+        log.info("Created item request {}", itemRequest.getId());
+        ItemRequestDto itemRequestDto = itemRequestMapper.toItemRequestDto(itemRequest);
+        itemRequestDto.setItems(Collections.emptyList());
+        return itemRequestDto;
+    }
+
+    @Override
+    public List<ItemRequestDto> getOwnRequests(long userId, KeysetCursor after, int size) {
+        log.info("Getting item requests of user {}", userId);
+        checkUser(userId);
+        return findPage(itemRequest.requester.id.eq(userId), after, size);
+    }
+
+    @Override
+    public List<ItemRequestDto> getOtherUsersRequests(long userId, KeysetCursor after, int size) {
+        log.info("Getting item requests of users other than {}", userId);
+        checkUser(userId);
+        return findPage(itemRequest.requester.id.ne(userId), after, size);
+    }
+
+    @Override
+    public ItemRequestDto getRequest(long requestId, long userId) {
+        log.info("User {}, getting item request {}", userId, requestId);
+        checkUser(userId);
+        ItemRequestDto itemRequestDto = itemRequestRepository.findById(requestId)
+                .map(itemRequestMapper::toItemRequestDto)
+                .orElseThrow(() -> new EntityNotFoundException("Item request not found"));
+        return withAnswers(List.of(itemRequestDto)).getFirst();
+    }
+
+    private void checkUser(long userId) {
+        if (!knownUsers.exists(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
+    }
+
+    private List<ItemRequestDto> findPage(BooleanExpression byRequester, KeysetCursor after, int size) {
+        BooleanExpression predicate = byRequester.and(KeysetCursor.after(itemRequest.created, itemRequest.id, after));
+        List<ItemRequestDto> requests = itemRequestRepository.findBy(predicate,
+                        q -> q.sortBy(PAGE_SORT).limit(Math.min(size, MAX_PAGE_SIZE)).all())
+                .stream()
+                .map(itemRequestMapper::toItemRequestDto)
+                .toList();
+        return withAnswers(requests);
+    }
+
+    /**
+     * Loads items answering the whole page with one {@code IN} query.
+     */
+    private List<ItemRequestDto> withAnswers(List<ItemRequestDto> requests) {
+        if (requests.isEmpty()) {
+            return requests;
+        }
+        List<Long> requestIds = requests.stream()
+                .map(ItemRequestDto::getId)
+                .toList();
+        Map<Long, List<ItemAnswerDto>> answers = itemRepository.findAnswersByRequestIds(requestIds)
+                .stream()
+                .collect(Collectors.groupingBy(ItemAnswerDto::getRequestId));
+        requests.forEach(request -> request.setItems(answers.getOrDefault(request.getId(), Collections.emptyList())));
+        return requests;
+    }
+}
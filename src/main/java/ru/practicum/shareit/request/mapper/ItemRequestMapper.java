@@ -0,0 +1,20 @@
+package ru.practicum.shareit.request.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.NewItemRequestRequest;
+
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ItemRequestMapper {
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "requester", ignore = true)
+    @Mapping(target = "created", ignore = true)
+    ItemRequest toItemRequest(NewItemRequestRequest request);
+
+    @Mapping(target = "items", ignore = true)
+    ItemRequestDto toItemRequestDto(ItemRequest itemRequest);
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ids of users known to exist, so existence checks don't fetch user rows.
+ * Ids are added when a user is created or found by {@code existsById}, and removed when the user is deleted.
+ * Misses always go to the database, so users created elsewhere are never reported missing.
+ * <p>
+ * Every deletion bumps a generation, and an id found by {@code existsById} is remembered only if no deletion
+ * happened while the check ran, so a check racing a delete can't bring the deleted id back.
+ * Entries expire after {@code shareit.known-users.time-to-live}, which bounds how long a user deleted
+ * by another instance is still reported as existing. The set is bounded by {@code shareit.known-users.maximum-size}.
+ */
+@Component
+@Slf4j
+public class KnownUsers {
+
+    private final UserRepository userRepository;
+    private final Cache<Long, Boolean> userIds;
+    private final AtomicLong deletions = new AtomicLong();
+
+    public KnownUsers(UserRepository userRepository,
+                      @Value("${shareit.known-users.maximum-size}") long maximumSize,
+                      @Value("${shareit.known-users.time-to-live}") Duration timeToLive) {
+        this.userRepository = userRepository;
+        this.userIds = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .build();
+    }
+
+    public boolean exists(long userId) {
+        if (userIds.getIfPresent(userId) != null) {
+            return true;
+        }
+        long generation = deletions.get();
+        if (userRepository.existsById(userId)) {
+            userIds.asMap().compute(userId, (id, known) -> deletions.get() == generation ? Boolean.TRUE : known);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Remembers a new user once the current transaction commits.
+     */
+    public void created(long userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    userIds.put(userId, Boolean.TRUE);
+                }
+            });
+        } else {
+            userIds.put(userId, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Forgets the user now and again once the current transaction commits.
+     */
+    public void deleted(long userId) {
+        log.info("Forgetting user {}", userId);
+        forget(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    forget(userId);
+                }
+            });
+        }
+    }
+
+    private void forget(long userId) {
+        deletions.incrementAndGet();
+        userIds.invalidate(userId);
+    }
+}
@@ -11,9 +11,13 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 import ru.practicum.shareit.user.dto.NewUserRequestDto;
 import ru.practicum.shareit.user.dto.UpdateUserRequestDto;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.ETagFormat;
+
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/users")
@@ -24,7 +28,11 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping("/{userId}")
-    public UserDto findUserById(@PathVariable long userId) {
+    public UserDto findUserById(@PathVariable long userId, WebRequest request) {
+        Optional<String> eTag = userService.getUserETag(userId);
+        if (eTag.isPresent() && request.checkNotModified(ETagFormat.forRequest(eTag.get(), request))) {
+            return null;
+        }
         return userService.findUserById(userId);
     }
 
@@ -4,6 +4,8 @@ import ru.practicum.shareit.user.dto.NewUserRequestDto;
 import ru.practicum.shareit.user.dto.UpdateUserRequestDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.util.Optional;
+
 public interface UserService {
 
     UserDto createUser(NewUserRequestDto request);
@@ -14,4 +16,6 @@ public interface UserService {
 
     UserDto findUserById(long userId);
 
+    Optional<String> getUserETag(long userId);
+
 }
@@ -1,10 +1,10 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import ru.practicum.shareit.exception.EmailAlreadyExist;
 import ru.practicum.shareit.exception.EntityNotFoundException;
 import ru.practicum.shareit.user.dto.NewUserRequestDto;
 import ru.practicum.shareit.user.dto.UpdateUserRequestDto;
@@ -18,21 +18,22 @@ import java.util.Optional;
 @RequiredArgsConstructor
 @Slf4j
 @Transactional(readOnly = true)
+@Timed(value = "shareit.user.service", histogram = true)
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
 
+    private final KnownUsers knownUsers;
+
     private final UserMapper userMapper;
 
     @Override
     @Transactional
     public UserDto createUser(NewUserRequestDto request) {
         log.info("Creating new user {}", request);
-        if (findByEmail(request.getEmail()).isPresent()) {
-            throw new EmailAlreadyExist("Try another email. This already exist");
-        }
         User user = userMapper.requestToUser(request);
-        user = userRepository.save(user);
+        user = userRepository.saveAndFlush(user);
+        knownUsers.created(user.getId());
         log.info("Created user {}", user);
         return userMapper.toUserDto(user);
     }
@@ -41,9 +42,11 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void deleteUser(long userId) {
         log.info("Deleting user with id: {}", userId);
-        userRepository.findById(userId)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        if (!knownUsers.exists(userId)) {
+            throw new EntityNotFoundException("User not found");
+        }
         userRepository.deleteById(userId);
+        knownUsers.deleted(userId);
         log.info("User with id: {} deleted", userId);
     }
 
@@ -53,16 +56,12 @@ public class UserServiceImpl implements UserService {
         log.info("Updating user {}", request);
         User updatedUser = userRepository.findById(userId)
                 .map(user -> {
-                    boolean isEmailChanged = request.getEmail() != null && !request.getEmail().equals(user.getEmail());
-                    if (isEmailChanged && findByEmail(request.getEmail()).isPresent()) {
-                        throw new EmailAlreadyExist("Try another email. This already exist");
-                    }
                     userMapper.updateUserRequest(request, user);
                     return user;
                 })
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
         updatedUser.setId(userId);
-        updatedUser = userRepository.save(updatedUser);
+        updatedUser = userRepository.saveAndFlush(updatedUser);
         log.info("User {} updated", updatedUser);
         return userMapper.toUserDto(updatedUser);
     }
@@ -75,7 +74,9 @@ public class UserServiceImpl implements UserService {
                 .orElseThrow(() -> new EntityNotFoundException("User not found"));
     }
 
-    private Optional<User> findByEmail(String email) {
-        return userRepository.findByEmail(email);
+    @Override
+    public Optional<String> getUserETag(long userId) {
+        return userRepository.findVersionById(userId)
+                .map(version -> "user-" + userId + "-" + version);
     }
 }
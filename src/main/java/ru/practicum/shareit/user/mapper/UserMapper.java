@@ -3,6 +3,7 @@ package ru.practicum.shareit.user.mapper;
 
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValueMappingStrategy;
@@ -15,10 +16,12 @@ import ru.practicum.shareit.user.model.User;
 @Mapper(componentModel = MappingConstants.ComponentModel.SPRING, nullValueMapMappingStrategy = NullValueMappingStrategy.RETURN_DEFAULT)
 public interface UserMapper {
 
+    @Mapping(target = "version", ignore = true)
     User requestToUser(NewUserRequestDto requestDto);
 
     UserDto toUserDto(User user);
 
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "version", ignore = true)
     void updateUserRequest(UpdateUserRequestDto requestDto, @MappingTarget User user);
 }
@@ -0,0 +1,48 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * JSON, Smile and CBOR bodies of one resource version differ byte for byte, so each format gets its own tag:
+ * JSON keeps the plain tag, the binary formats add a suffix. Formats are resolved from {@code Accept}
+ * the way content negotiation picks a converter: highest quality first, JSON for wildcards.
+ */
+public class ETagFormat {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+    private static final List<MediaType> FORMATS = List.of(MediaType.APPLICATION_JSON, SMILE, MediaType.APPLICATION_CBOR);
+
+    public static String forRequest(String eTag, WebRequest request) {
+        MediaType format = negotiatedFormat(request.getHeader(HttpHeaders.ACCEPT));
+        if (SMILE.equals(format)) {
+            return eTag + "-smile";
+        }
+        if (MediaType.APPLICATION_CBOR.equals(format)) {
+            return eTag + "-cbor";
+        }
+        return eTag;
+    }
+
+    private static MediaType negotiatedFormat(String accept) {
+        if (accept == null) {
+            return MediaType.APPLICATION_JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException e) {
+            return MediaType.APPLICATION_JSON;
+        }
+        return accepted.stream()
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .flatMap(type -> FORMATS.stream().filter(type::isCompatibleWith))
+                .findFirst()
+                .orElse(MediaType.APPLICATION_JSON);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.util;
+
+import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.core.types.dsl.DateTimePath;
+import com.querydsl.core.types.dsl.NumberPath;
+import ru.practicum.shareit.exception.IncorrectCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position in a list ordered by a timestamp and id, both descending.
+ * Travels to clients as an opaque url-safe string.
+ */
+public record KeysetCursor(LocalDateTime time, long id) {
+
+    private static final String SEPARATOR = "_";
+
+    /**
+     * Returns {@code null}, the start of the list, for a missing or blank cursor.
+     */
+    public static KeysetCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(SEPARATOR);
+            return new KeysetCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                    Long.parseLong(decoded.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new IncorrectCursorException("Incorrect cursor " + cursor);
+        }
+    }
+
+    /**
+     * Rows that come after {@code cursor} in the list, or {@code null}, no restriction, for the first page.
+     */
+    public static BooleanExpression after(DateTimePath<LocalDateTime> time, NumberPath<Long> id, KeysetCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return time.lt(cursor.time())
+                .or(time.eq(cursor.time()).and(id.lt(cursor.id())));
+    }
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((time + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
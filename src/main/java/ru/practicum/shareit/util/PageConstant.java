@@ -0,0 +1,8 @@
+package ru.practicum.shareit.util;
+
+public class PageConstant {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final String DEFAULT_PAGE_SIZE = "20";
+    public static final int MAX_PAGE_SIZE = 100;
+}
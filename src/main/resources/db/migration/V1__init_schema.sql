@@ -1,8 +1,3 @@
-drop table if exists bookings;
-drop table if exists comments;
-drop table if exists items;
-drop table if exists users;
-
 CREATE TABLE IF NOT EXISTS users
 (
     id    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
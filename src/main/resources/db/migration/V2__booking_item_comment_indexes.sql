@@ -0,0 +1,10 @@
+-- booker's bookings, newest first, keyset on (start_data, id)
+CREATE INDEX IF NOT EXISTS idx_bookings_user_start ON bookings (user_id, start_data DESC, id DESC);
+
+-- owner's bookings and per-item last/next/active booking lookups
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_data);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_data DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_user ON items (user_id);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS outbox_events
+(
+    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    event_type   VARCHAR(64)                             NOT NULL,
+    aggregate_id BIGINT                                  NOT NULL,
+    payload      VARCHAR                                 NOT NULL,
+    created      TIMESTAMP                               NOT NULL,
+    CONSTRAINT pk_outbox_events PRIMARY KEY (id)
+);
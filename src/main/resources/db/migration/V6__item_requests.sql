@@ -0,0 +1,23 @@
+CREATE SEQUENCE IF NOT EXISTS requests_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS requests
+(
+    id           BIGINT        NOT NULL,
+    description  VARCHAR(2000) NOT NULL,
+    requester_id BIGINT        NOT NULL,
+    created      TIMESTAMP     NOT NULL,
+    CONSTRAINT pk_requests PRIMARY KEY (id),
+    CONSTRAINT ref_requests_user_id FOREIGN KEY (requester_id) REFERENCES users (id)
+);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS request_id BIGINT;
+ALTER TABLE items ADD CONSTRAINT ref_items_request_id FOREIGN KEY (request_id) REFERENCES requests (id);
+
+-- requester's own requests, newest first, keyset on (created, id)
+CREATE INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created DESC, id DESC);
+
+-- feed of all requests, newest first, keyset on (created, id)
+CREATE INDEX IF NOT EXISTS idx_requests_created ON requests (created DESC, id DESC);
+
+-- items answering a page of requests
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
@@ -0,0 +1,23 @@
+CREATE TABLE IF NOT EXISTS bookings_archive
+(
+    id         BIGINT       NOT NULL,
+    start_data TIMESTAMP    NOT NULL,
+    end_data   TIMESTAMP    NOT NULL,
+    status     VARCHAR(255) NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    item_id    BIGINT       NOT NULL,
+    version    BIGINT       NOT NULL,
+    CONSTRAINT pk_bookings_archive PRIMARY KEY (id),
+    CONSTRAINT ref_bookings_archive_user_id FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT ref_bookings_archive_item_id FOREIGN KEY (item_id) REFERENCES items (id)
+);
+
+-- booker's and owner's archived bookings, newest first, keyset on (start_data, id)
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_user_start ON bookings_archive (user_id, start_data DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_item_start ON bookings_archive (item_id, start_data DESC, id DESC);
+
+-- last booking of items that have no finished bookings left in the hot table
+CREATE INDEX IF NOT EXISTS idx_bookings_archive_item_end ON bookings_archive (item_id, end_data);
+
+-- archival job picks finished bookings by end date
+CREATE INDEX IF NOT EXISTS idx_bookings_end ON bookings (end_data);
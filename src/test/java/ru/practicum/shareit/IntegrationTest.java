@@ -0,0 +1,76 @@
+package ru.practicum.shareit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.item.ItemCache;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.NewItemRequestDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.NewUserRequestDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Common configuration and fixtures of tests that run against the whole application.
+ * Every subclass gets the same context, so Spring builds it once and all classes share
+ * its in-memory database; fixtures therefore create fresh users and items for each test.
+ * {@link ItemCache} is spied here rather than in the one test that stubs it, for the same reason.
+ */
+@SpringBootTest(properties = {
+        "shareit.outbox.file-sink.path=target/outbox-events.ndjson",
+        "shareit.outbox.dispatch-delay=PT1H"})
+@AutoConfigureMockMvc
+public abstract class IntegrationTest {
+
+    @Autowired
+    protected MockMvc mockMvc;
+    @Autowired
+    protected UserService userService;
+    @Autowired
+    protected ItemService itemService;
+    @Autowired
+    protected BookingService bookingService;
+    @SpyBean
+    protected ItemCache itemCache;
+
+    protected UserDto createUser() {
+        NewUserRequestDto request = new NewUserRequestDto();
+        request.setName("user");
+        request.setEmail(UUID.randomUUID() + "@shareit.ru");
+        return userService.createUser(request);
+    }
+
+    protected ItemDto createItem(long ownerId) {
+        return createItem(ownerId, null);
+    }
+
+    protected ItemDto createItem(long ownerId, Long requestId) {
+        NewItemRequestDto request = new NewItemRequestDto();
+        request.setName("Drill");
+        request.setDescription("Cordless drill");
+        request.setAvailable(true);
+        request.setRequestId(requestId);
+        return itemService.createItem(request, ownerId);
+    }
+
+    protected NewBookingRequest bookingRequest(long itemId, LocalDateTime start, LocalDateTime end) {
+        NewBookingRequest request = new NewBookingRequest();
+        request.setItemId(itemId);
+        request.setStart(start);
+        request.setEnd(end);
+        return request;
+    }
+
+    protected BookingDto createBooking(long itemId, long bookerId, LocalDateTime start, LocalDateTime end) {
+        return bookingService.createBooking(bookingRequest(itemId, start, end), bookerId);
+    }
+}
@@ -1,10 +1,8 @@
 package ru.practicum.shareit;
 
 import org.junit.jupiter.api.Test;
-import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
-class ShareItTests {
+class ShareItTests extends IntegrationTest {
 
 	@Test
 	void contextLoads() {
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.IntegrationTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs with the archive job enabled, as configured by default.
+ */
+class BookingArchiverTest extends IntegrationTest {
+
+    @Autowired
+    private BookingArchiver bookingArchiver;
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ArchivedBookingRepository archivedBookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void endedBookingsMoveToArchiveAndStayListed() {
+        UserDto owner = createUser();
+        UserDto booker = createUser();
+        ItemDto item = createItem(owner.getId());
+        LocalDateTime now = LocalDateTime.now();
+        BookingDto ended = createBooking(item.getId(), booker.getId(), now.plusDays(1), now.plusDays(2));
+        BookingDto upcoming = createBooking(item.getId(), booker.getId(), now.plusDays(5), now.plusDays(6));
+        jdbcTemplate.update("update bookings set start_data = ?, end_data = ? where id = ?",
+                now.minusDays(41), now.minusDays(40), ended.getId());
+
+        bookingArchiver.archive();
+
+        assertTrue(bookingRepository.findById(ended.getId()).isEmpty());
+        assertTrue(archivedBookingRepository.findById(ended.getId()).isPresent());
+        assertTrue(bookingRepository.findById(upcoming.getId()).isPresent());
+        List<BookingDto> past = bookingService.getBookingsOfUser(booker.getId(), SearchBookingStates.PAST,
+                null, 10);
+        assertEquals(List.of(ended.getId()), past.stream().map(BookingDto::getId).toList());
+    }
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ItemIsNotAvailable;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingAvailabilityIndexTest {
+
+    private static final long ITEM_ID = 1;
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private BookingAvailabilityIndex index;
+    private LocalDateTime day;
+
+    @BeforeEach
+    void setUp() {
+        index = new BookingAvailabilityIndex(bookingRepository, new ItemLocks(4), 100, Duration.ofMinutes(30));
+        day = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.DAYS);
+    }
+
+    @Test
+    void newBookingIsCheckedAgainstEveryPeriodWhateverItsId() {
+        indexed(new BookingInterval(7, day.plusHours(10), day.plusHours(12)));
+        Booking booking = booking(7L, day.plusHours(11), day.plusHours(13), BookingStatus.WAITING);
+
+        assertThrows(ItemIsNotAvailable.class, () -> index.reserve(booking, saved -> saved));
+    }
+
+    @Test
+    void calendarMarksEveryHourTouchedByBooking() {
+        indexed(new BookingInterval(1, day.plusHours(10).plusMinutes(30), day.plusHours(12).plusMinutes(10)));
+
+        ItemAvailabilityDto availability = index.getAvailability(ITEM_ID, day, day.plusDays(1));
+
+        assertEquals(List.of(period(day.plusHours(10), day.plusHours(13))), availability.getBusy());
+        assertEquals(List.of(period(day, day.plusHours(10)), period(day.plusHours(13), day.plusDays(1))),
+                availability.getFree());
+    }
+
+    @Test
+    void removedPeriodKeepsBoundaryHourOfItsNeighbourBusy() {
+        indexed(new BookingInterval(1, day.plusHours(10), day.plusHours(11).plusMinutes(30)),
+                new BookingInterval(2, day.plusHours(11).plusMinutes(30), day.plusHours(13)));
+        index.getAvailability(ITEM_ID, day, day.plusDays(1));
+
+        index.statusChanged(booking(2L, day.plusHours(11).plusMinutes(30), day.plusHours(13), BookingStatus.REJECTED),
+                true);
+
+        ItemAvailabilityDto availability = index.getAvailability(ITEM_ID, day, day.plusDays(1));
+        assertEquals(List.of(period(day.plusHours(10), day.plusHours(12))), availability.getBusy());
+    }
+
+    @Test
+    void calendarStopsAtHorizon() {
+        LocalDateTime currentHour = LocalDateTime.now().truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime horizon = currentHour.plusHours(BookingAvailabilityIndex.HORIZON_HOURS);
+        indexed(new BookingInterval(1, horizon.minusDays(2), horizon.plusYears(50)));
+
+        ItemAvailabilityDto nearHorizon = index.getAvailability(ITEM_ID, horizon.minusDays(3), horizon.plusDays(3));
+        ItemAvailabilityDto beyondHorizon = index.getAvailability(ITEM_ID, horizon.plusDays(10), horizon.plusDays(20));
+
+        assertEquals(horizon, nearHorizon.getTo());
+        assertEquals(List.of(period(horizon.minusDays(2), horizon)), nearHorizon.getBusy());
+        assertEquals(horizon, beyondHorizon.getFrom());
+        assertEquals(horizon, beyondHorizon.getTo());
+        assertEquals(List.of(), beyondHorizon.getBusy());
+    }
+
+    @Test
+    void endedPeriodsArePruned() {
+        LocalDateTime now = LocalDateTime.now();
+        indexed(new BookingInterval(1, now.minusHours(3), now.minusHours(1)));
+
+        Booking booking = booking(null, now.minusHours(2), now.plusHours(1), BookingStatus.WAITING);
+
+        assertDoesNotThrow(() -> index.reserve(booking, saved -> {
+            saved.setId(2L);
+            return saved;
+        }));
+    }
+
+    private void indexed(BookingInterval... intervals) {
+        when(bookingRepository.findActiveIntervalsByItemId(anyLong(), any())).thenReturn(List.of(intervals));
+    }
+
+    private static Booking booking(Long id, LocalDateTime start, LocalDateTime end, BookingStatus status) {
+        Item item = new Item();
+        item.setId(ITEM_ID);
+        Booking booking = new Booking();
+        booking.setId(id);
+        booking.setItem(item);
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(status);
+        return booking;
+    }
+
+    private static ItemAvailabilityDto.Period period(LocalDateTime start, LocalDateTime end) {
+        return new ItemAvailabilityDto.Period(start, end);
+    }
+}
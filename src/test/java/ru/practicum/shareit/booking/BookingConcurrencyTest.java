@@ -0,0 +1,141 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.IntegrationTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.NewBookingRequest;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.BookingStatus;
+import ru.practicum.shareit.exception.ItemIsNotAvailable;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doAnswer;
+
+class BookingConcurrencyTest extends IntegrationTest {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private UserDto owner;
+    private ItemDto item;
+
+    @BeforeEach
+    void setUp() {
+        owner = createUser();
+        item = createItem(owner.getId());
+    }
+
+    @Test
+    void concurrentOverlappingBookingsAcceptOnlyOne() throws InterruptedException {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        List<Callable<BookingDto>> calls = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            long bookerId = createUser().getId();
+            LocalDateTime bookingStart = start.plusHours(i % 2);
+            calls.add(() -> createBooking(item.getId(), bookerId, bookingStart, start.plusHours(3)));
+        }
+
+        List<Throwable> failures = runConcurrently(calls);
+
+        assertEquals(THREADS - 1, failures.size());
+        failures.forEach(failure -> assertInstanceOf(ItemIsNotAvailable.class, failure));
+    }
+
+    @Test
+    void concurrentApprovalsKeepAvailabilityConsistent() throws InterruptedException {
+        long bookerId = createUser().getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        BookingDto booking = createBooking(item.getId(), bookerId, start, start.plusHours(1));
+        List<Callable<BookingDto>> calls = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean approved = i % 2 == 0;
+            calls.add(() -> bookingService.approveBooking(owner.getId(), booking.getId(), approved));
+        }
+
+        List<Throwable> failures = runConcurrently(calls);
+
+        assertEquals(List.of(), failures);
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertTrue(stored.getVersion() > 0);
+        NewBookingRequest overlapping = bookingRequest(item.getId(), start, start.plusHours(1));
+        if (stored.getStatus() == BookingStatus.APPROVED) {
+            assertThrows(ItemIsNotAvailable.class, () -> bookingService.createBooking(overlapping, bookerId));
+        } else {
+            assertEquals(BookingStatus.REJECTED, stored.getStatus());
+            assertDoesNotThrow(() -> bookingService.createBooking(overlapping, bookerId));
+        }
+    }
+
+    @Test
+    void approvalIsRetriedAfterConcurrentChangeElsewhere() {
+        long bookerId = createUser().getId();
+        LocalDateTime start = LocalDateTime.now().plusDays(2);
+        BookingDto booking = createBooking(item.getId(), bookerId, start, start.plusHours(1));
+        long versionBefore = bookingRepository.findById(booking.getId()).orElseThrow().getVersion();
+        AtomicInteger attempts = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (attempts.incrementAndGet() == 1) {
+                // another instance commits a change of the row this transaction has already read
+                CompletableFuture.runAsync(() -> jdbcTemplate.update(
+                        "update bookings set version = version + 1 where id = ?", booking.getId())).join();
+            }
+            return invocation.callRealMethod();
+        }).when(itemCache).evict(item.getId());
+
+        BookingDto approved = bookingService.approveBooking(owner.getId(), booking.getId(), true);
+
+        assertEquals(BookingStatus.APPROVED, approved.getStatus());
+        assertEquals(2, attempts.get());
+        Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+        assertEquals(BookingStatus.APPROVED, stored.getStatus());
+        assertEquals(versionBefore + 2, stored.getVersion());
+    }
+
+    private List<Throwable> runConcurrently(List<Callable<BookingDto>> calls) throws InterruptedException {
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Throwable> failures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(calls.size())) {
+            List<Future<BookingDto>> results = new ArrayList<>();
+            for (Callable<BookingDto> call : calls) {
+                results.add(executor.submit(() -> {
+                    startGate.await();
+                    return call.call();
+                }));
+            }
+            startGate.countDown();
+            for (Future<BookingDto> result : results) {
+                try {
+                    result.get();
+                } catch (ExecutionException e) {
+                    failures.add(e.getCause());
+                }
+            }
+        }
+        return failures;
+    }
+}
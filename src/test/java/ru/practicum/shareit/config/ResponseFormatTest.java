@@ -0,0 +1,56 @@
+package ru.practicum.shareit.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import ru.practicum.shareit.IntegrationTest;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ResponseFormatTest extends IntegrationTest {
+
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    @Test
+    void eachFormatGetsItsOwnETag() throws Exception {
+        UserDto user = createUser();
+        String json = eTag(user, MediaType.APPLICATION_JSON);
+        String smile = eTag(user, SMILE);
+        String cbor = eTag(user, MediaType.APPLICATION_CBOR);
+
+        assertNotEquals(json, smile);
+        assertNotEquals(json, cbor);
+        assertNotEquals(smile, cbor);
+        assertEquals(json, eTag(user, MediaType.ALL));
+    }
+
+    @Test
+    void tagOfOneFormatDoesNotValidateAnother() throws Exception {
+        UserDto user = createUser();
+        String json = eTag(user, MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(get("/users/{id}", user.getId())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT));
+        mockMvc.perform(get("/users/{id}", user.getId())
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, json))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    private String eTag(UserDto user, MediaType accept) throws Exception {
+        return mockMvc.perform(get("/users/{id}", user.getId()).accept(accept))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import ru.practicum.shareit.IntegrationTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutboxDispatcherTest extends IntegrationTest {
+
+    private static final Path EVENTS_FILE = Path.of("target/outbox-events.ndjson");
+
+    @Autowired
+    private OutboxDispatcher outboxDispatcher;
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        // ids restart with the in-memory database, so lines of earlier runs could match
+        Files.deleteIfExists(EVENTS_FILE);
+    }
+
+    @Test
+    void bookingLifecycleEventsAreDispatchedToFileSink() throws IOException {
+        UserDto owner = createUser();
+        UserDto booker = createUser();
+        ItemDto item = createItem(owner.getId());
+        BookingDto booking = createBooking(item.getId(), booker.getId(),
+                LocalDateTime.now().plusDays(10), LocalDateTime.now().plusDays(11));
+        bookingService.approveBooking(owner.getId(), booking.getId(), true);
+
+        outboxDispatcher.dispatch();
+
+        assertEquals(0, outboxEventRepository.count());
+        List<String> lines = Files.readAllLines(EVENTS_FILE);
+        String created = "\"type\":\"BOOKING_CREATED\",\"aggregateId\":" + booking.getId() + ",";
+        String approved = "\"type\":\"BOOKING_APPROVED\",\"aggregateId\":" + booking.getId() + ",";
+        assertTrue(lines.stream().anyMatch(line -> line.contains(created)));
+        assertTrue(lines.stream().anyMatch(line -> line.contains(approved)));
+    }
+}
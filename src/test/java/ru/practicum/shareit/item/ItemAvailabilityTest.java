@@ -0,0 +1,46 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.IntegrationTest;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.HeaderConstant.USER_ID_HEADER;
+
+class ItemAvailabilityTest extends IntegrationTest {
+
+    @Test
+    void bookedHoursAreBusy() throws Exception {
+        UserDto owner = createUser();
+        ItemDto item = createItem(owner.getId());
+        LocalDateTime day = LocalDateTime.now().plusDays(3).truncatedTo(ChronoUnit.DAYS);
+        createBooking(item.getId(), createUser().getId(), day.plusHours(10), day.plusHours(12));
+
+        mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                        .param("from", day.toString())
+                        .param("to", day.plusDays(1).toString())
+                        .header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.busy.length()").value(1))
+                .andExpect(jsonPath("$.busy[0].start").value(day.plusHours(10) + ":00"))
+                .andExpect(jsonPath("$.free.length()").value(2));
+    }
+
+    @Test
+    void malformedDateIsBadRequest() throws Exception {
+        UserDto owner = createUser();
+        ItemDto item = createItem(owner.getId());
+
+        mockMvc.perform(get("/items/{itemId}/availability", item.getId())
+                        .param("from", "tomorrow")
+                        .param("to", LocalDateTime.now().plusDays(2).toString())
+                        .header(USER_ID_HEADER, owner.getId()))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.IntegrationTest;
+import ru.practicum.shareit.booking.SearchBookingStates;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.NewItemRequestRequest;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.HeaderConstant.USER_ID_HEADER;
+import static ru.practicum.shareit.util.PageConstant.NEXT_CURSOR_HEADER;
+
+class ItemRequestControllerTest extends IntegrationTest {
+
+    @Autowired
+    private ItemRequestService itemRequestService;
+
+    private UserDto requester;
+    private UserDto other;
+    private List<ItemRequestDto> requests;
+
+    @BeforeEach
+    void setUp() {
+        requester = createUser();
+        other = createUser();
+        requests = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            NewItemRequestRequest request = new NewItemRequestRequest();
+            request.setDescription("Need a drill " + i);
+            requests.add(itemRequestService.createRequest(request, requester.getId()));
+        }
+    }
+
+    @Test
+    void ownRequestsArePagedNewestFirstWithCursor() throws Exception {
+        MvcResult first = mockMvc.perform(get("/requests").param("size", "2")
+                        .header(USER_ID_HEADER, requester.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].id").value(requests.get(2).getId()))
+                .andExpect(jsonPath("$[1].id").value(requests.get(1).getId()))
+                .andExpect(header().exists(NEXT_CURSOR_HEADER))
+                .andReturn();
+
+        mockMvc.perform(get("/requests").param("size", "2")
+                        .param("cursor", first.getResponse().getHeader(NEXT_CURSOR_HEADER))
+                        .header(USER_ID_HEADER, requester.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(requests.get(0).getId()))
+                .andExpect(header().doesNotExist(NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void feedOfOtherUsersExcludesOwnRequestsAndCarriesAnswers() throws Exception {
+        ItemDto answer = createItem(other.getId(), requests.get(2).getId());
+
+        mockMvc.perform(get("/requests/all").param("size", "2")
+                        .header(USER_ID_HEADER, other.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(requests.get(2).getId()))
+                .andExpect(jsonPath("$[0].items.length()").value(1))
+                .andExpect(jsonPath("$[0].items[0].id").value(answer.getId()))
+                .andExpect(jsonPath("$[0].items[0].ownerId").value(other.getId()))
+                .andExpect(jsonPath("$[1].id").value(requests.get(1).getId()))
+                .andExpect(jsonPath("$[1].items.length()").value(0));
+
+        mockMvc.perform(get("/requests/all").header(USER_ID_HEADER, requester.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + requests.get(2).getId() + ")]").isEmpty());
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/requests").param("cursor", "not-a-cursor")
+                        .header(USER_ID_HEADER, requester.getId()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bookedItemKeepsItsRequestId() {
+        ItemDto item = createItem(other.getId(), requests.get(0).getId());
+
+        BookingDto created = createBooking(item.getId(), requester.getId(),
+                LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2));
+        List<BookingDto> listed = bookingService.getBookingsOfUser(requester.getId(),
+                SearchBookingStates.ALL, null, 10);
+
+        assertEquals(requests.get(0).getId(), created.getItem().getRequestId());
+        assertEquals(requests.get(0).getId(), listed.getFirst().getItem().getRequestId());
+    }
+}